@@ -0,0 +1,95 @@
+package org.example.inventorymanagementbackend.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Benchmark Runner
+ * Runs every JMH benchmark of the application, writes the full JMH report to target/jmh-result.json
+ * and compares average times with the committed baseline (benchmarks/jmh-baseline.json).
+ * The comparison is report-only unless -Djmh.fail-on-regression=true, in which case it exits non-zero
+ * when a benchmark is slower than its baseline by more than -Djmh.threshold beyond its error margin.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "target/jmh-result.json";
+    private static final File BASELINE_FILE = new File("benchmarks/jmh-baseline.json");
+
+    public static void main(String[] args) throws Exception {
+        // Maven passes the JMH options as one argument
+        List<String> jmhArgs = new ArrayList<>();
+        for (String arg : args) {
+            jmhArgs.addAll(Arrays.asList(arg.trim().split("\\s+")));
+        }
+        jmhArgs.removeIf(String::isEmpty);
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(new CommandLineOptions(jmhArgs.toArray(new String[0])));
+        options.include("org\\.example\\.inventorymanagementbackend\\..*Benchmark")
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE);
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        Map<String, Double> scores = new TreeMap<>();
+        Map<String, Double> errors = new TreeMap<>();
+        for (RunResult result : results) {
+            String label = result.getParams().getBenchmark();
+            for (String key : result.getParams().getParamsKeys()) {
+                label += ":" + key + "=" + result.getParams().getParam(key);
+            }
+            scores.put(label, result.getPrimaryResult().getScore());
+            double error = result.getPrimaryResult().getScoreError();
+            errors.put(label, Double.isNaN(error) ? 0 : error);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        if (Boolean.getBoolean("jmh.update-baseline") || !BASELINE_FILE.exists()) {
+            BASELINE_FILE.getParentFile().mkdirs();
+            objectMapper.writeValue(BASELINE_FILE, scores);
+            System.out.println("Baseline written to " + BASELINE_FILE);
+            return;
+        }
+
+        double threshold = Double.parseDouble(System.getProperty("jmh.threshold", "0.15"));
+        Map<String, Double> baseline = objectMapper.readValue(BASELINE_FILE, new TypeReference<Map<String, Double>>() {});
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            Double previous = baseline.get(entry.getKey());
+            if (previous == null || previous <= 0) {
+                System.out.printf("%-90s %12.3f (new)%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            double change = (entry.getValue() - previous) / previous;
+            double error = errors.get(entry.getKey());
+            System.out.printf("%-90s %12.3f +/- %-10.3f %+7.1f%%%n", entry.getKey(), entry.getValue(), error, change * 100);
+            // All benchmarks measure average time, so a higher score is slower; only count it when
+            // even the fast end of the confidence interval is past the threshold
+            if (entry.getValue() - error > previous * (1 + threshold)) {
+                regressions.add(entry.getKey());
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println("Slower than baseline by more than " + Math.round(threshold * 100) + "%: " + regressions);
+            if (Boolean.getBoolean("jmh.fail-on-regression")) {
+                System.exit(1);
+            }
+            System.out.println("Report only; add -Djmh.fail-on-regression=true to fail on a baseline from this machine");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.inventorymanagementbackend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.inventorymanagementbackend.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Per-request token verification: a repeat token served from the verified-token cache,
+ * and a full signature check and parse (cache miss)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtBenchmark {
+
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider missingProvider;
+    private String token;
+    private String[] rotatingTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = provider(1024);
+        token = cachingProvider.generateToken(authentication("admin"));
+
+        // A one-entry cache keeps at most one of the rotating tokens, so almost every call misses
+        missingProvider = provider(1);
+        rotatingTokens = new String[256];
+        for (int i = 0; i < rotatingTokens.length; i++) {
+            rotatingTokens[i] = missingProvider.generateToken(authentication("user" + i));
+        }
+    }
+
+    @Benchmark
+    public Claims parseAndValidateCached() {
+        return cachingProvider.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public Claims parseAndValidateUncached() {
+        return missingProvider.parseAndValidate(rotatingTokens[next++ & (rotatingTokens.length - 1)]);
+    }
+
+    private static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret",
+                "myVerySecureSecretKeyThatIsAtLeast32CharactersLongForHS256Algorithm");
+        ReflectionTestUtils.setField(provider, "jwtExpirationTime", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username) {
+        UserDetails user = User.withUsername(username).password("").authorities(List.of()).build();
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.inventorymanagementbackend.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.example.inventorymanagementbackend.dto.response.InventoryResponse;
+import org.example.inventorymanagementbackend.dto.response.SaleResponse;
+import org.example.inventorymanagementbackend.entity.Customer;
+import org.example.inventorymanagementbackend.entity.Inventory;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.entity.Sale;
+import org.example.inventorymanagementbackend.entity.SaleItem;
+import org.example.inventorymanagementbackend.entity.Supplier;
+import org.example.inventorymanagementbackend.mapper.InventoryMapper;
+import org.example.inventorymanagementbackend.mapper.InventoryMapperImpl;
+import org.example.inventorymanagementbackend.mapper.SaleItemMapper;
+import org.example.inventorymanagementbackend.mapper.SaleMapper;
+import org.example.inventorymanagementbackend.mapper.SaleMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Response mapping used by every inventory and sale listing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private static final int SALE_ITEMS = 10;
+
+    private final InventoryMapper inventoryMapper = new InventoryMapperImpl();
+    private final SaleMapper saleMapper = new SaleMapperImpl();
+
+    private Inventory inventory;
+    private Sale sale;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(saleMapper, "saleItemMapper", new SaleItemMapper());
+
+        Supplier supplier = new Supplier();
+        supplier.setId(3L);
+        supplier.setName("Acme Wholesale");
+        supplier.setUniqueSupplierCode("SUP-003");
+
+        Product product = new Product();
+        product.setId(7L);
+        product.setCode("P-007");
+        product.setName("Copper Wire 2.5mm");
+
+        inventory = new Inventory();
+        inventory.setId(11L);
+        inventory.setProduct(product);
+        inventory.setSupplier(supplier);
+        inventory.setMovementType(Inventory.MovementType.IN);
+        inventory.setQuantity(120);
+        inventory.setUnitPrice(new BigDecimal("7.25"));
+        inventory.setPurchasePrice(new BigDecimal("7.25"));
+        inventory.setPaidAmount(new BigDecimal("300.00"));
+        inventory.setReference("GRN-2024-0042");
+        inventory.setDate(LocalDateTime.now());
+
+        Customer customer = new Customer();
+        customer.setId(5L);
+        customer.setName("Nimal Stores");
+
+        sale = new Sale();
+        sale.setId(21L);
+        sale.setCustomer(customer);
+        sale.setSaleDate(LocalDateTime.now());
+        sale.setPaymentMethod(Sale.PaymentMethod.CASH);
+        sale.setTotalAmount(new BigDecimal("1249.00"));
+        for (int i = 0; i < SALE_ITEMS; i++) {
+            SaleItem item = new SaleItem(sale, product, 10, new BigDecimal("12.49"));
+            item.setId(100L + i);
+            item.setInventoryId(11L);
+            item.setInventoryUnitPrice(new BigDecimal("7.25"));
+            item.setInventoryDate(inventory.getDate());
+            sale.getSaleItems().add(item);
+        }
+    }
+
+    @Benchmark
+    public InventoryResponse inventoryToResponse() {
+        return inventoryMapper.toResponse(inventory);
+    }
+
+    @Benchmark
+    public String movementDescription() {
+        return inventoryMapper.getMovementDescription(inventory);
+    }
+
+    @Benchmark
+    public SaleResponse saleToResponse() {
+        return saleMapper.toResponse(sale);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
+import org.example.inventorymanagementbackend.entity.Inventory;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.AllocationPlan;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * FIFO allocation planning for a sale against an already loaded stock snapshot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FifoAllocationBenchmark {
+
+    // Sale lines per request, spread over ten products
+    @Param({"1", "20"})
+    private int lines;
+
+    // Open batches per product; each line needs stock from most of them
+    @Param({"10", "200"})
+    private int batches;
+
+    private final FifoAllocationService fifoAllocationService = new FifoAllocationService();
+
+    private List<SaleItemRequest> items;
+    private StockSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        int products = Math.min(lines, 10);
+        Map<Long, Product> productMap = new HashMap<>();
+        Map<Long, List<Inventory>> batchMap = new HashMap<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(batches);
+
+        for (long p = 1; p <= products; p++) {
+            Product product = new Product();
+            product.setId(p);
+            product.setCode("P" + p);
+            product.setName("Product " + p);
+            product.setCurrentStock(batches * 5);
+            productMap.put(p, product);
+
+            List<Inventory> productBatches = new ArrayList<>();
+            for (int b = 0; b < batches; b++) {
+                Inventory batch = new Inventory();
+                batch.setId(p * 100_000 + b);
+                batch.setProduct(product);
+                batch.setQuantity(5);
+                batch.setUnitPrice(new BigDecimal("7.25"));
+                batch.setDate(start.plusDays(b));
+                productBatches.add(batch);
+            }
+            batchMap.put(p, productBatches);
+        }
+        snapshot = new StockSnapshot(productMap, batchMap);
+
+        // Together the lines for a product take ~80% of its batches
+        int linesPerProduct = (lines + products - 1) / products;
+        int quantity = Math.max(1, batches * 4 / linesPerProduct);
+        items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new SaleItemRequest((long) (i % products) + 1, quantity,
+                    new BigDecimal("12.49"), new BigDecimal("0.75")));
+        }
+    }
+
+    @Benchmark
+    public AllocationPlan planFifoAllocation() {
+        return fifoAllocationService.plan(snapshot, items);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * BigDecimal line total math done for every sale request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SaleTotalsBenchmark {
+
+    @Param({"1", "20"})
+    private int lines;
+
+    private final SaleService saleService = new SaleService();
+
+    private List<SaleItemRequest> items;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new SaleItemRequest((long) i + 1, 3 + i, new BigDecimal("12.49"), new BigDecimal("0.75")));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        return saleService.calculateTotalAmount(items);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.inventorymanagementbackend.config;
+
+import java.lang.reflect.Field;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.metamodel.EntityType;
+
+/**
+ * Id Generator Aligner
+ * Entities moved from IDENTITY to pooled table ids keep their existing rows.
+ * Before the application serves requests, every generator row is moved past the
+ * highest id already in its table so newly allocated ids never collide.
+ */
+@Component
+public class IdGeneratorAligner implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorAligner.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> entityClass = entityType.getJavaType();
+            TableGenerator generator = findTableGenerator(entityClass);
+            if (generator == null) {
+                continue;
+            }
+
+            String tableName = entityClass.isAnnotationPresent(Table.class)
+                    ? entityClass.getAnnotation(Table.class).name()
+                    : entityType.getName();
+
+            try {
+                align(generator, tableName);
+            } catch (Exception e) {
+                // Starting with a stale generator would hand out ids that already exist
+                throw new IllegalStateException("Could not align id generator '" + generator.pkColumnValue()
+                        + "' for table " + tableName, e);
+            }
+        }
+    }
+
+    private void align(TableGenerator generator, String tableName) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tableName, Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        // The pooled optimizer hands out (value - allocationSize, value], so stay one block ahead
+        long target = maxId + generator.allocationSize() + 1;
+        String table = generator.table();
+        String keyColumn = generator.pkColumnName();
+        String valueColumn = generator.valueColumnName();
+
+        int updated = jdbcTemplate.update(
+                "UPDATE " + table + " SET " + valueColumn + " = ? WHERE " + keyColumn + " = ? AND " + valueColumn + " < ?",
+                target, generator.pkColumnValue(), target);
+
+        if (updated == 0) {
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE " + keyColumn + " = ?",
+                    Integer.class, generator.pkColumnValue());
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("INSERT INTO " + table + " (" + keyColumn + ", " + valueColumn + ") VALUES (?, ?)",
+                        generator.pkColumnValue(), target);
+                updated = 1;
+            }
+        }
+
+        if (updated > 0) {
+            logger.info("Aligned id generator '{}' to {} (max id in {} is {})",
+                    generator.pkColumnValue(), target, tableName, maxId);
+        }
+    }
+
+    private TableGenerator findTableGenerator(Class<?> entityClass) {
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                TableGenerator generator = field.getAnnotation(TableGenerator.class);
+                if (generator != null) {
+                    return generator;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.inventorymanagementbackend.config;
+
+import org.example.inventorymanagementbackend.metrics.SqlStatementCounter;
+import org.example.inventorymanagementbackend.metrics.SqlTimingListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Config
+ * Hooks the per-request SQL statement counter and timing listener into Hibernate
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlRequestStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+}
@@ -5,11 +5,11 @@ import java.util.List;
 
 import org.example.inventorymanagementbackend.security.JwtAuthenticationEntryPoint;
 import org.example.inventorymanagementbackend.security.JwtAuthenticationFilter;
+import org.example.inventorymanagementbackend.security.JwtPrincipalCache;
 import org.example.inventorymanagementbackend.security.JwtTokenProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -17,7 +17,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -37,12 +36,8 @@ public class SecurityConfig {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
-    private final UserDetailsService userDetailsService;
-
     @Autowired
-    public SecurityConfig(@Lazy UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
-    }
+    private JwtPrincipalCache jwtPrincipalCache;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -57,7 +52,7 @@ public class SecurityConfig {
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
-        filter.setUserDetailsService(userDetailsService);
+        filter.setPrincipalCache(jwtPrincipalCache);
         filter.setJwtTokenProvider(jwtTokenProvider);
         return filter;
     }
@@ -0,0 +1,30 @@
+package org.example.inventorymanagementbackend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Virtual Thread Config
+ * Active with the "virtual" profile. Spring Boot silently falls back to platform threads
+ * below Java 21, so report which mode is actually in effect.
+ */
+@Configuration
+@Profile("virtual")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            logger.warn("Profile 'virtual' is active but the runtime is Java {}; requests run on platform threads", javaVersion);
+        } else {
+            logger.info("Request, @Async and @Scheduled execution on virtual threads (Java {})", javaVersion);
+        }
+    }
+}
@@ -5,9 +5,11 @@ import org.example.inventorymanagementbackend.service.DashboardService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -85,17 +87,35 @@ public class DashboardController {
     }
 
     /**
-     * Get sales vs purchases data for charts
+     * Get sales vs purchases data for charts (last six months, or from/to as yyyy-MM inclusive)
      */
     @GetMapping("/sales-vs-purchases")
-    public ResponseEntity<ApiResponse<List<SalesVsPurchasesResponse>>> getSalesVsPurchases() {
+    public ResponseEntity<ApiResponse<List<SalesVsPurchasesResponse>>> getSalesVsPurchases(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
         try {
-            List<SalesVsPurchasesResponse> data = dashboardService.getSalesVsPurchasesData();
+            List<SalesVsPurchasesResponse> data;
+            if (from == null && to == null) {
+                data = dashboardService.getSalesVsPurchasesData();
+            } else {
+                YearMonth end = to != null ? to : YearMonth.now();
+                data = dashboardService.getSalesVsPurchasesData(from != null ? from : end.minusMonths(5), end);
+            }
             return ResponseEntity.ok(ApiResponse.success(data));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching sales vs purchases data", e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Failed to fetch sales vs purchases data"));
         }
     }
+
+    /**
+     * Get dashboard snapshot cache statistics (hit rate, staleness)
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ApiResponse<DashboardCacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(dashboardService.getCacheStats()));
+    }
 }
\ No newline at end of file
@@ -1,16 +1,20 @@
 package org.example.inventorymanagementbackend.controller;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.example.inventorymanagementbackend.dto.request.InventoryRequest;
 import org.example.inventorymanagementbackend.dto.response.ApiResponse;
+import org.example.inventorymanagementbackend.dto.response.InventoryPageResponse;
 import org.example.inventorymanagementbackend.dto.response.InventoryResponse;
+import org.example.inventorymanagementbackend.exception.ServiceBusyException;
 import org.example.inventorymanagementbackend.service.InventoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
@@ -36,11 +41,30 @@ public class InventoryController {
 
     // ===================== EXISTING ENDPOINTS =====================
 
+    /**
+     * Movement history. With any paging or filter parameter a keyset page is returned
+     * (pass nextCursor back as cursor); without parameters the full list is kept for existing clients.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<InventoryResponse>>> getAllInventoryMovements() {
+    public ResponseEntity<ApiResponse<?>> getAllInventoryMovements(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) String movementType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
         try {
+            if (cursor != null || limit != null || productId != null || supplierId != null
+                    || movementType != null || from != null || to != null) {
+                InventoryPageResponse page = inventoryService.getInventoryMovementsPage(
+                        productId, supplierId, movementType, from, to, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.success(page));
+            }
             List<InventoryResponse> movements = inventoryService.getAllInventoryMovements();
             return ResponseEntity.ok(ApiResponse.success(movements));
+        } catch (InventoryService.InventoryValidationException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching inventory movements", e);
             return ResponseEntity.internalServerError()
@@ -54,6 +78,9 @@ public class InventoryController {
             InventoryResponse movement = inventoryService.recordInventoryMovement(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Inventory movement recorded successfully", movement));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
@@ -63,6 +90,27 @@ public class InventoryController {
         }
     }
 
+    /**
+     * Record many stock receipts at once (all or nothing)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<List<InventoryResponse>>> recordStockReceipts(@RequestBody List<InventoryRequest> requests) {
+        try {
+            List<InventoryResponse> receipts = inventoryService.recordStockReceipts(requests);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success(receipts.size() + " stock receipts recorded successfully", receipts));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (InventoryService.InventoryValidationException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error recording stock receipts", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to record stock receipts: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/product/{productId}")
     public ResponseEntity<ApiResponse<List<InventoryResponse>>> getInventoryByProduct(@PathVariable Long productId) {
         try {
@@ -199,6 +247,8 @@ public class InventoryController {
             logger.info("Stock entry added successfully for product {}", productId);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
         } catch (IllegalArgumentException e) {
             logger.error("Validation error adding stock entry for product {}: {}", productId, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -249,6 +299,9 @@ public ResponseEntity<ApiResponse<String>> deleteInventoryEntry(@PathVariable Lo
         inventoryService.deleteInventoryEntry(inventoryId);
         logger.info("Inventory entry deleted successfully with ID: {}", inventoryId);
         return ResponseEntity.ok(ApiResponse.success("Inventory entry deleted successfully", null));
+    } catch (ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(e.getMessage()));
     } catch (RuntimeException e) {
         logger.error("Inventory entry not found or validation error: {}", e.getMessage());
         return ResponseEntity.badRequest()
@@ -278,6 +331,8 @@ public ResponseEntity<?> deleteStockEntry(@PathVariable Long productId, @PathVar
         logger.info("Stock entry {} deleted successfully for product {}", entryId, productId);
         return ResponseEntity.ok(response);
         
+    } catch (ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
     } catch (IllegalArgumentException e) {
         logger.error("Validation error deleting stock entry {} for product {}: {}", entryId, productId, e.getMessage());
         return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
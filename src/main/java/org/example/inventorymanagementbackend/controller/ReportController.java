@@ -0,0 +1,143 @@
+package org.example.inventorymanagementbackend.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.example.inventorymanagementbackend.dto.response.ApiResponse;
+import org.example.inventorymanagementbackend.dto.response.DailySalesResponse;
+import org.example.inventorymanagementbackend.dto.response.MarginReportResponse;
+import org.example.inventorymanagementbackend.dto.response.TopSellingProductResponse;
+import org.example.inventorymanagementbackend.service.MarginReportService;
+import org.example.inventorymanagementbackend.service.SalesRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Report Controller
+ * Sales analytics: daily rollups and the FIFO margin report
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    private static final int MAX_TOP_PRODUCTS = 100;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private MarginReportService marginReportService;
+
+    /**
+     * Best-selling products between two days (inclusive); defaults to the current month
+     */
+    @GetMapping("/top-products")
+    public ResponseEntity<ApiResponse<List<TopSellingProductResponse>>> getTopSellingProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_TOP_PRODUCTS) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Limit must be between 1 and " + MAX_TOP_PRODUCTS));
+        }
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.withDayOfMonth(1);
+            return ResponseEntity.ok(ApiResponse.success(salesRollupService.getTopSellingProducts(start, end, limit)));
+        } catch (Exception e) {
+            logger.error("Error fetching top selling products report", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to fetch top selling products"));
+        }
+    }
+
+    /**
+     * Daily sales history of a product (defaults to the last 30 days)
+     */
+    @GetMapping("/products/{productId}/daily")
+    public ResponseEntity<ApiResponse<List<DailySalesResponse>>> getProductHistory(
+            @PathVariable Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(29);
+            return ResponseEntity.ok(ApiResponse.success(salesRollupService.getProductHistory(productId, start, end)));
+        } catch (Exception e) {
+            logger.error("Error fetching sales history for product {}", productId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to fetch product sales history"));
+        }
+    }
+
+    /**
+     * Daily sales history of a customer (defaults to the last 30 days)
+     */
+    @GetMapping("/customers/{customerId}/daily")
+    public ResponseEntity<ApiResponse<List<DailySalesResponse>>> getCustomerHistory(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(29);
+            return ResponseEntity.ok(ApiResponse.success(salesRollupService.getCustomerHistory(customerId, start, end)));
+        } catch (Exception e) {
+            logger.error("Error fetching sales history for customer {}", customerId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to fetch customer sales history"));
+        }
+    }
+
+    /**
+     * FIFO cost-of-goods and gross margin per product, customer and period (DAY or MONTH)
+     * for the days in [from, to]; defaults to the current month
+     */
+    @GetMapping("/margins")
+    public ResponseEntity<ApiResponse<MarginReportResponse>> getMarginReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTH") MarginReportService.Period period) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.withDayOfMonth(1);
+            return ResponseEntity.ok(ApiResponse.success(marginReportService.getMarginReport(start, end, period)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error building margin report", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to build margin report"));
+        }
+    }
+
+    /**
+     * Rebuild the daily rollups for a day range from the raw sales
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            int days = salesRollupService.rebuild(from, to);
+            return ResponseEntity.ok(ApiResponse.success("Rebuilt sales rollups for " + days + " days", days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error rebuilding sales rollups", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to rebuild sales rollups"));
+        }
+    }
+}
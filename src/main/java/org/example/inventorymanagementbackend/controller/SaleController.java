@@ -1,5 +1,6 @@
 package org.example.inventorymanagementbackend.controller;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -9,12 +10,18 @@ import java.util.Objects;
 
 import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
 import org.example.inventorymanagementbackend.dto.request.SaleRequest;
+import org.example.inventorymanagementbackend.dto.request.StockReservationRequest;
 import org.example.inventorymanagementbackend.dto.response.ApiResponse;
+import org.example.inventorymanagementbackend.dto.response.BulkSaleResponse;
+import org.example.inventorymanagementbackend.dto.response.SalePageResponse;
 import org.example.inventorymanagementbackend.dto.response.SaleResponse;
+import org.example.inventorymanagementbackend.dto.response.StockReservationResponse;
 import org.example.inventorymanagementbackend.entity.Sale;
 import org.example.inventorymanagementbackend.entity.Sale.PaymentMethod;
+import org.example.inventorymanagementbackend.exception.ServiceBusyException;
 import org.example.inventorymanagementbackend.repository.SaleRepository;
 import org.example.inventorymanagementbackend.service.SaleService;
+import org.example.inventorymanagementbackend.service.StockReservationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,8 +37,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -44,15 +53,32 @@ public class SaleController {
     @Autowired
     private SaleService saleService;
 
+    @Autowired
+    private StockReservationService stockReservationService;
+
     @Autowired
 
     private SaleRepository saleRepository;
 
+    /**
+     * List sales. Without cursor, limit or filters the full list is returned as before;
+     * with any of them a keyset page (SalePageResponse) is returned instead.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<SaleResponse>>> getAllSales() {
+    public ResponseEntity<ApiResponse<?>> getAllSales(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) Long customerId,
+                                                      @RequestParam(required = false) PaymentMethod paymentMethod,
+                                                      @RequestParam(required = false) Boolean isPaid) {
         try {
+            if (cursor != null || limit != null || customerId != null || paymentMethod != null || isPaid != null) {
+                SalePageResponse page = saleService.getSalesPage(customerId, paymentMethod, isPaid, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.success(page));
+            }
             List<SaleResponse> sales = saleService.getAllSales();
             return ResponseEntity.ok(ApiResponse.success(sales));
+        } catch (SaleService.ValidationException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching sales", e);
             return ResponseEntity.internalServerError()
@@ -60,6 +86,27 @@ public class SaleController {
         }
     }
 
+    /**
+     * Stream matching sales as NDJSON for exports (one sale per line, newest first)
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportSales(@RequestParam(required = false) Long customerId,
+                            @RequestParam(required = false) PaymentMethod paymentMethod,
+                            @RequestParam(required = false) Boolean isPaid,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"sales.ndjson\"");
+
+        try {
+            int exported = saleService.exportSales(customerId, paymentMethod, isPaid, response.getOutputStream());
+            logger.info("Sales export finished: {} sales", exported);
+        } catch (IOException e) {
+            logger.warn("Sales export aborted: {}", e.getMessage());
+            throw e;
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SaleResponse>> getSaleById(@PathVariable Long id) {
         try {
@@ -80,18 +127,17 @@ public class SaleController {
     @PostMapping
     public ResponseEntity<ApiResponse<SaleResponse>> createSale(@Valid @RequestBody SaleRequest request, BindingResult bindingResult) {
         
-        logger.info("=== SALE CREATION REQUEST ===");
-        logger.info("Customer ID: {}, Payment Method: {}", request.getCustomerId(), request.getPaymentMethod());
-        logger.info("Total Amount: {}, Items Count: {}", 
-            request.getTotalAmount(), 
-            request.getSaleItems() != null ? request.getSaleItems().size() : 0);
-        
-        // Log sale items concisely
-        if (request.getSaleItems() != null) {
-            for (int i = 0; i < request.getSaleItems().size(); i++) {
-                SaleItemRequest item = request.getSaleItems().get(i);
-                logger.info("Item {}: ProductID={}, Quantity={}, UnitPrice={}, Discount={}", 
-                    i, item.getProductId(), item.getQuantity(), item.getUnitPrice(), item.getDiscount());
+        // Request details are debug-only; the committed sale is written to the audit log by SaleService
+        if (logger.isDebugEnabled()) {
+            logger.debug("Sale creation request - Customer ID: {}, Payment Method: {}, Total Amount: {}, Items Count: {}",
+                request.getCustomerId(), request.getPaymentMethod(), request.getTotalAmount(),
+                request.getSaleItems() != null ? request.getSaleItems().size() : 0);
+            if (request.getSaleItems() != null) {
+                for (int i = 0; i < request.getSaleItems().size(); i++) {
+                    SaleItemRequest item = request.getSaleItems().get(i);
+                    logger.debug("Item {}: ProductID={}, Quantity={}, UnitPrice={}, Discount={}",
+                        i, item.getProductId(), item.getQuantity(), item.getUnitPrice(), item.getDiscount());
+                }
             }
         }
 
@@ -125,33 +171,19 @@ public class SaleController {
                     .body(ApiResponse.error(e.getMessage()));
         }
 
-        // STOCK PRE-CHECK: Validate stock availability BEFORE processing
-        try {
-            logger.info("Pre-checking stock availability for all items...");
-            boolean stockAvailable = saleService.checkStockAvailabilityForSale(request);
-            if (!stockAvailable) {
-                logger.warn("Stock availability pre-check failed");
-                return ResponseEntity.badRequest()
-                        .body(ApiResponse.error("Insufficient stock for one or more items in the sale"));
-            }
-            logger.info("Stock availability pre-check passed");
-        } catch (Exception e) {
-            logger.error("Error during stock pre-check: {}", e.getMessage());
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Unable to verify stock availability: " + e.getMessage()));
-        }
-
         // Process the sale
         try {
-            logger.info("Processing sale creation with validated stock...");
             SaleResponse sale = saleService.createSaleWithFIFO(request);
             
-            logger.info("Sale created successfully - ID: {}, Final Total: {}", 
+            logger.debug("Sale created successfully - ID: {}, Final Total: {}", 
                 sale.getId(), sale.getTotalAmount());
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Sale created successfully", sale));
                     
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (SaleService.ValidationException e) {
             logger.warn("Sale validation error: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -271,6 +303,9 @@ public class SaleController {
             saleService.deleteSale(id);
             logger.info("Sale deleted successfully with id: {}", id);
             return ResponseEntity.ok(ApiResponse.success("Sale deleted successfully", null));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
             logger.warn("Sale not found for deletion: {}", id);
             return ResponseEntity.notFound().build();
@@ -282,10 +317,17 @@ public class SaleController {
     }
 
     @GetMapping("/unpaid")
-    public ResponseEntity<ApiResponse<List<SaleResponse>>> getUnpaidSales() {
+    public ResponseEntity<ApiResponse<?>> getUnpaidSales(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit) {
         try {
+            if (cursor != null || limit != null) {
+                SalePageResponse page = saleService.getSalesPage(null, null, false, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.success(page));
+            }
             List<SaleResponse> sales = saleService.getUnpaidSales();
             return ResponseEntity.ok(ApiResponse.success(sales));
+        } catch (SaleService.ValidationException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching unpaid sales", e);
             return ResponseEntity.internalServerError()
@@ -300,6 +342,9 @@ public class SaleController {
             SaleResponse sale = saleService.markSaleAsPaid(id);
             logger.info("Sale marked as paid successfully with id: {}", id);
             return ResponseEntity.ok(ApiResponse.success("Sale marked as paid", sale));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
             logger.warn("Sale not found or already paid: {}", id);
             return ResponseEntity.notFound().build();
@@ -310,6 +355,95 @@ public class SaleController {
         }
     }
 
+    /**
+     * Bulk import of sales (e.g. back-loaded from offline branches).
+     * Each sale succeeds or fails on its own; results are returned in request order.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkSaleResponse>> createSalesInBatch(@RequestBody List<SaleRequest> requests) {
+        try {
+            logger.info("Bulk sale import request with {} sales", requests != null ? requests.size() : 0);
+            BulkSaleResponse response = saleService.createSalesInBatch(requests);
+
+            String message = String.format("Bulk import processed: %d created, %d failed",
+                    response.getSucceeded(), response.getFailed());
+            return ResponseEntity.ok(ApiResponse.success(message, response));
+
+        } catch (SaleService.ValidationException e) {
+            logger.warn("Bulk sale import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error importing sales in bulk", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Bulk sale import failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Hold stock for a sale in progress; send the returned reservationId with POST /api/sales
+     * to convert it. Unconverted holds are released when they expire.
+     */
+    @PostMapping("/reservations")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> reserveStock(@Valid @RequestBody StockReservationRequest request,
+                                                                              BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            StringBuilder errorMessage = new StringBuilder("Validation failed: ");
+            for (FieldError error : bindingResult.getFieldErrors()) {
+                errorMessage.append(error.getField()).append(": ").append(error.getDefaultMessage()).append("; ");
+            }
+            logger.debug("Stock reservation rejected: {}", errorMessage);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(errorMessage.toString().trim()));
+        }
+
+        try {
+            StockReservationResponse reservation = stockReservationService.reserve(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Stock reserved", reservation));
+
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (StockReservationService.InsufficientStockException e) {
+            logger.debug("Stock reservation rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Stock Error: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error reserving stock", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Stock reservation failed: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> getReservation(@PathVariable String reservationId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Reservation retrieved",
+                    stockReservationService.getReservation(reservationId)));
+        } catch (StockReservationService.ReservationNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<ApiResponse<Void>> releaseReservation(@PathVariable String reservationId) {
+        try {
+            stockReservationService.release(reservationId);
+            return ResponseEntity.ok(ApiResponse.success("Reservation released", null));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (StockReservationService.ReservationNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error releasing reservation {}", reservationId, e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Failed to release reservation: " + e.getMessage()));
+        }
+    }
+
     /**
      * ENHANCED: Check stock availability with detailed response
      */
@@ -344,12 +478,20 @@ public class SaleController {
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<ApiResponse<List<SaleResponse>>> getSalesByCustomer(@PathVariable Long customerId) {
+    public ResponseEntity<ApiResponse<?>> getSalesByCustomer(@PathVariable Long customerId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer limit) {
         try {
             logger.info("Fetching sales for customer: {}", customerId);
+            if (cursor != null || limit != null) {
+                SalePageResponse page = saleService.getSalesPage(customerId, null, null, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.success(page));
+            }
             List<SaleResponse> sales = saleService.getSalesByCustomer(customerId);
             logger.info("Found {} sales for customer: {}", sales.size(), customerId);
             return ResponseEntity.ok(ApiResponse.success(sales));
+        } catch (SaleService.ValidationException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error fetching sales for customer: {}", customerId, e);
             return ResponseEntity.internalServerError()
@@ -385,6 +527,9 @@ public ResponseEntity<?> markCheckAsBounced(
             "message", "Check marked as bounced successfully",
             "data", updatedSale
         ));
+    } catch (ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(Map.of("success", false, "message", e.getMessage()));
     } catch (IllegalStateException e) {
         return ResponseEntity.badRequest()
             .body(Map.of("success", false, "message", e.getMessage()));
@@ -407,6 +552,9 @@ public ResponseEntity<?> markCheckAsCleared(@PathVariable Long id) {
             "message", "Check status cleared successfully",
             "data", updatedSale
         ));
+    } catch (ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(Map.of("success", false, "message", e.getMessage()));
     } catch (IllegalStateException e) {
         return ResponseEntity.badRequest()
             .body(Map.of("success", false, "message", e.getMessage()));
@@ -42,6 +42,13 @@ public class SaleRequest {
     @Digits(integer = 10, fraction = 2, message = "Invalid total amount format")
     private BigDecimal totalAmount;
 
+    // Optional original sale time for back-loaded sales (bulk import only)
+    private LocalDateTime saleDate;
+
+    // Optional stock reservation converted by this sale (single sale creation only)
+    @Size(max = 36, message = "Reservation ID must not exceed 36 characters")
+    private String reservationId;
+
     @NotEmpty(message = "Sale items are required")
     @Valid
     private List<SaleItemRequest> saleItems;
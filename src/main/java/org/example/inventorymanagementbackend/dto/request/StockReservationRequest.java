@@ -0,0 +1,38 @@
+package org.example.inventorymanagementbackend.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Hold stock for a sale that is still being put together (e.g. between POS stock check and checkout)
+ */
+@Data
+public class StockReservationRequest {
+
+    @NotEmpty(message = "Reservation items are required")
+    @Valid
+    private List<Item> items;
+
+    // Optional; defaults to app.reservations.default-ttl-seconds and may not exceed max-ttl-seconds
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    private Integer ttlSeconds;
+
+    @Data
+    public static class Item {
+
+        @NotNull(message = "Product ID is required")
+        @Min(value = 1, message = "Product ID must be positive")
+        private Long productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 1000, message = "Quantity cannot exceed 1000")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSaleResponse {
+    private Integer totalRequested;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BulkSaleResultResponse> results;
+}
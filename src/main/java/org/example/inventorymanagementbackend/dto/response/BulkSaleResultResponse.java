@@ -0,0 +1,29 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single sale within a bulk import, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSaleResultResponse {
+    private Integer index;
+    private Boolean success;
+    private Long saleId;
+    private BigDecimal totalAmount;
+    private String error;
+
+    public static BulkSaleResultResponse created(int index, Long saleId, BigDecimal totalAmount) {
+        return new BulkSaleResultResponse(index, true, saleId, totalAmount, null);
+    }
+
+    public static BulkSaleResultResponse failed(int index, String error) {
+        return new BulkSaleResultResponse(index, false, null, null, error);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One day of a product's or customer's sales history, read from the daily rollup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesResponse {
+    private LocalDate day;
+    private Long saleCount;
+    private Long quantity;
+    private BigDecimal revenue;
+    private BigDecimal discount;
+    private BigDecimal fifoCost;
+    private BigDecimal grossProfit;
+}
@@ -0,0 +1,15 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import lombok.Data;
+
+@Data
+public class DashboardCacheStatsResponse {
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long rebuilds;
+    private Boolean stale;
+    private Long snapshotAgeMs;
+    private Long maxStalenessMs;
+    private Long maxAgeMs;
+}
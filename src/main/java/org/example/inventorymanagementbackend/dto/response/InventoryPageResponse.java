@@ -0,0 +1,21 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of inventory movements, newest first.
+ * Pass nextCursor back as the cursor parameter to get the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryPageResponse {
+    private List<InventoryResponse> items;
+    private String nextCursor;
+    private Boolean hasMore;
+    private Integer limit;
+}
@@ -0,0 +1,26 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Gross margin of one product, customer or period
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarginLineResponse {
+    private String key;
+    private String label;
+    private Long quantity;
+    private BigDecimal revenue;
+    private BigDecimal cogs;
+    private BigDecimal grossMargin;
+    private BigDecimal marginPercent;
+    // Slices without a recorded batch cost (e.g. check sales not yet paid); excluded from the figures above
+    private Long unpricedQuantity;
+    private BigDecimal unpricedRevenue;
+}
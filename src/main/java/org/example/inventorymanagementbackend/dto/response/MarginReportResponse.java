@@ -0,0 +1,26 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * FIFO cost-of-goods and gross margin for a date range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarginReportResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private String period;
+    private MarginLineResponse totals;
+    private List<MarginLineResponse> byProduct;
+    private List<MarginLineResponse> byCustomer;
+    private List<MarginLineResponse> byPeriod;
+    private Integer chunks;
+    private Long rowsScanned;
+}
@@ -0,0 +1,21 @@
+package org.example.inventorymanagementbackend.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Active stock reservation: pass reservationId with the sale to convert it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+    private String reservationId;
+    private LocalDateTime expiresAt;
+    // Units held per product id
+    private Map<Long, Integer> quantities;
+}
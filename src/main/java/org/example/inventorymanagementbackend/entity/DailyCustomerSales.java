@@ -0,0 +1,73 @@
+package org.example.inventorymanagementbackend.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily Customer Sales Entity
+ * Rollup of sales per (day, customer). Adjusted by relative updates in the same transaction as every sale
+ * that touches the key, so analytics read one row per day instead of scanning sale_items.
+ */
+@Entity
+@Table(name = "daily_customer_sales", indexes = {
+        @Index(name = "idx_daily_customer_sales_customer_day", columnList = "customer_id, sale_day")
+})
+@IdClass(DailyCustomerSales.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyCustomerSales {
+
+    @Id
+    @Column(name = "sale_day")
+    private LocalDate saleDay;
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "sale_count", nullable = false)
+    private Long saleCount = 0L;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity = 0L;
+
+    // Sum of line totals (after discount)
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "discount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal discount = BigDecimal.ZERO;
+
+    // Cost of the FIFO batches the items were taken from (pending check items count once paid)
+    @Column(name = "fifo_cost", nullable = false, precision = 15, scale = 2)
+    private BigDecimal fifoCost = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public DailyCustomerSales(LocalDate saleDay, Long customerId) {
+        this.saleDay = saleDay;
+        this.customerId = customerId;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate saleDay;
+        private Long customerId;
+    }
+}
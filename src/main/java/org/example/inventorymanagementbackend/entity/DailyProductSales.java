@@ -0,0 +1,73 @@
+package org.example.inventorymanagementbackend.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Daily Product Sales Entity
+ * Rollup of sale items per (day, product). Adjusted by relative updates in the same transaction as every sale
+ * that touches the key, so analytics read one row per day instead of scanning sale_items.
+ */
+@Entity
+@Table(name = "daily_product_sales", indexes = {
+        @Index(name = "idx_daily_product_sales_product_day", columnList = "product_id, sale_day")
+})
+@IdClass(DailyProductSales.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyProductSales {
+
+    @Id
+    @Column(name = "sale_day")
+    private LocalDate saleDay;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "sale_count", nullable = false)
+    private Long saleCount = 0L;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity = 0L;
+
+    // Sum of line totals (after discount)
+    @Column(name = "revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "discount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal discount = BigDecimal.ZERO;
+
+    // Cost of the FIFO batches the items were taken from (pending check items count once paid)
+    @Column(name = "fifo_cost", nullable = false, precision = 15, scale = 2)
+    private BigDecimal fifoCost = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public DailyProductSales(LocalDate saleDay, Long productId) {
+        this.saleDay = saleDay;
+        this.productId = productId;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate saleDay;
+        private Long productId;
+    }
+}
@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 
 import org.example.inventorymanagementbackend.enums.PaymentMethod;
 import org.example.inventorymanagementbackend.enums.PaymentStatus;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -24,6 +25,8 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -40,6 +43,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "inventory", indexes = {
         @Index(name = "idx_inventory_product", columnList = "product_id"),
         @Index(name = "idx_inventory_date", columnList = "date"),
+        @Index(name = "idx_inventory_date_id", columnList = "date, id"), // Keyset pagination
         @Index(name = "idx_inventory_movement_type", columnList = "movementType"),
         @Index(name = "idx_inventory_product_date", columnList = "product_id, date") // For FIFO queries
 })
@@ -50,7 +54,10 @@ import lombok.NoArgsConstructor;
 public class Inventory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inventory_id_generator")
+    @TableGenerator(name = "inventory_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "inventory", allocationSize = 50)
     private Long id;
 
     // Product relationship - MUST EXIST
@@ -65,6 +72,10 @@ public class Inventory {
     @NotNull(message = "Quantity cannot be null")
     private Integer quantity;
 
+    // Quantity originally received for IN movements; quantity is drawn down by FIFO sales
+    @Column(name = "received_quantity")
+    private Integer receivedQuantity;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "movement_type", nullable = false, length = 10)
     @NotNull(message = "Movement type is required")
@@ -92,6 +103,12 @@ public class Inventory {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Optimistic locking: concurrent batch reductions fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "expiry_date")
     private LocalDate expiryDate;
 
@@ -291,6 +308,9 @@ public class Inventory {
         if (date == null) {
             date = LocalDateTime.now();
         }
+        if (receivedQuantity == null && isStockIn()) {
+            receivedQuantity = quantity;
+        }
 
         // Validate business rules
         validateMovement();
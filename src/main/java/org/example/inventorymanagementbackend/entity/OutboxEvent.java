@@ -0,0 +1,74 @@
+package org.example.inventorymanagementbackend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox Event Entity
+ * A domain event written in the same transaction as the change it describes.
+ * The outbox dispatcher publishes pending rows to the configured sinks after commit
+ * and stamps them as published; rows are purged after the retention period.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_published_id", columnList = "published_at, id") // Pending scan
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    // Pooled table ids so events written with a bulk import are batched with it
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_event_id_generator")
+    @TableGenerator(name = "outbox_event_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "outbox_events", allocationSize = 50)
+    private Long id;
+
+    // e.g. sale.created, inventory.deleted
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    // SALE or INVENTORY
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    // JSON object
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public OutboxEvent(String eventType, String aggregateType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
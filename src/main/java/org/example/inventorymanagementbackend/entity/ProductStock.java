@@ -0,0 +1,72 @@
+package org.example.inventorymanagementbackend.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product Stock Entity
+ * Per-product projection of the open FIFO batches in the inventory table.
+ * Rewritten in the same transaction as every movement or sale that touches the product's batches,
+ * so availability checks are a primary-key lookup instead of a SUM over the batch history.
+ */
+@Entity
+@Table(name = "product_stock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStock {
+
+    // Same value as the product id; one row per product
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    // Units left in open IN batches
+    @Column(name = "on_hand", nullable = false)
+    private Integer onHand = 0;
+
+    // Units promised to pending orders and not yet taken from batches
+    @Column(name = "reserved", nullable = false)
+    private Integer reserved = 0;
+
+    @Column(name = "open_batch_count", nullable = false)
+    private Integer openBatchCount = 0;
+
+    @Column(name = "oldest_open_batch_date")
+    private LocalDateTime oldestOpenBatchDate;
+
+    // Remaining quantity of each open batch valued at its unit price
+    @Column(name = "fifo_cost_value", nullable = false, precision = 15, scale = 2)
+    private BigDecimal fifoCostValue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public ProductStock(Long productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Units that can still be sold
+     */
+    public int getAvailableQuantity() {
+        int available = (onHand != null ? onHand : 0) - (reserved != null ? reserved : 0);
+        return Math.max(available, 0);
+    }
+}
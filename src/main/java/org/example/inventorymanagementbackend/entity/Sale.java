@@ -27,6 +27,7 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
@@ -43,6 +44,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "sales", indexes = {
         @Index(name = "idx_sale_customer", columnList = "customer_id"),
         @Index(name = "idx_sale_date", columnList = "saleDate"),
+        @Index(name = "idx_sale_date_id", columnList = "saleDate, id"), // Keyset pagination
+        @Index(name = "idx_sale_customer_date_id", columnList = "customer_id, saleDate, id"),
         @Index(name = "idx_sale_payment_method", columnList = "paymentMethod"),
         @Index(name = "idx_sale_check_date", columnList = "checkDate")
 })
@@ -52,8 +55,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Sale {
 
+    // Pooled table ids let Hibernate batch inserts (IDENTITY forces one round-trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sale_id_generator")
+    @TableGenerator(name = "sale_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "sales", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
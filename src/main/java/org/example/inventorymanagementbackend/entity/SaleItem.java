@@ -14,6 +14,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
@@ -21,8 +22,12 @@ import jakarta.validation.constraints.NotNull;
 @Table(name = "sale_items")
 public class SaleItem {
 
+    // Pooled table ids let Hibernate batch inserts (IDENTITY forces one round-trip per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sale_item_id_generator")
+    @TableGenerator(name = "sale_item_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "sale_items", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
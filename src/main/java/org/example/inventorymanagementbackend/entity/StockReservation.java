@@ -0,0 +1,64 @@
+package org.example.inventorymanagementbackend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock Reservation Entity
+ * One product's hold within a reservation; all holds of a reservation share its reservationId.
+ * While a hold exists its quantity is counted in product_stock.reserved, so it is not available
+ * to other sales. Rows are deleted when the reservation is converted to a sale, released or expired.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_reservation_key", columnList = "reservation_id"),
+        @Index(name = "idx_reservation_expires", columnList = "expires_at"),
+        @Index(name = "idx_reservation_product", columnList = "product_id")
+})
+@Data
+@NoArgsConstructor
+public class StockReservation {
+
+    // Pooled table ids so the holds of a multi-product reservation are inserted in one batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_reservation_id_generator")
+    @TableGenerator(name = "stock_reservation_id_generator", table = "id_generators",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "stock_reservations", allocationSize = 50)
+    private Long id;
+
+    // UUID handed to the client
+    @Column(name = "reservation_id", nullable = false, length = 36)
+    private String reservationId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public StockReservation(String reservationId, Long productId, Integer quantity,
+                            LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.reservationId = reservationId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
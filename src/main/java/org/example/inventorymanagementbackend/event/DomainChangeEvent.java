@@ -0,0 +1,34 @@
+package org.example.inventorymanagementbackend.event;
+
+/**
+ * Domain Change Event
+ * Published by the services whenever they write sales, stock, products, customers or suppliers.
+ * Listeners that need committed data use @TransactionalEventListener so they run after commit.
+ */
+public class DomainChangeEvent {
+
+    public enum Type {
+        SALE, INVENTORY, PRODUCT, CUSTOMER, SUPPLIER
+    }
+
+    private final Type type;
+    private final Long entityId;
+
+    public DomainChangeEvent(Type type, Long entityId) {
+        this.type = type;
+        this.entityId = entityId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    @Override
+    public String toString() {
+        return "DomainChangeEvent{" + type + ", id=" + entityId + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.inventorymanagementbackend.event;
+
+import java.time.LocalDateTime;
+
+import org.example.inventorymanagementbackend.entity.OutboxEvent;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Outbox Message
+ * A committed outbox event as handed to the sinks. The in-process sink publishes each one as an
+ * application event, so consumers subscribe with @EventListener, e.g.
+ * {@code @EventListener(condition = "#message.type == 'sale.created'")}. Delivery is at-least-once:
+ * consumers that must not repeat work de-duplicate on {@link #getId()}.
+ */
+public class OutboxMessage {
+
+    private final Long id;
+    private final String type;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final LocalDateTime occurredAt;
+    private final String payload;
+
+    public OutboxMessage(OutboxEvent event) {
+        this.id = event.getId();
+        this.type = event.getEventType();
+        this.aggregateType = event.getAggregateType();
+        this.aggregateId = event.getAggregateId();
+        this.occurredAt = event.getCreatedAt();
+        this.payload = event.getPayload();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    // JSON object, written as-is when the message is serialized
+    @JsonRawValue
+    public String getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" + id + ", " + type + ", " + aggregateType + "=" + aggregateId + "}";
+    }
+}
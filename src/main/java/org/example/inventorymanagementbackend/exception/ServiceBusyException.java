@@ -0,0 +1,13 @@
+package org.example.inventorymanagementbackend.exception;
+
+/**
+ * Service Busy Exception
+ * Thrown when a write could not start in time because all write slots are taken;
+ * the request can be retried later (HTTP 503)
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -16,6 +16,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "inventoryMovements", ignore = true)
     @Mapping(target = "saleItems", ignore = true)
     @Mapping(target = "isActive", constant = "true")
@@ -36,6 +37,7 @@ public interface ProductMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "inventoryMovements", ignore = true)
     @Mapping(target = "saleItems", ignore = true)
     @Mapping(target = "isActive", ignore = true)
@@ -1,5 +1,11 @@
 package org.example.inventorymanagementbackend.mapper;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.example.inventorymanagementbackend.dto.response.SaleItemResponse;
 import org.example.inventorymanagementbackend.entity.Inventory;
 import org.example.inventorymanagementbackend.entity.SaleItem;
@@ -13,6 +19,9 @@ public class SaleItemMapper {
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    /**
+     * Map a sale item using the batch cost and date stored on the item itself (no queries)
+     */
     public SaleItemResponse toResponse(SaleItem saleItem) {
         if (saleItem == null) {
             return null;
@@ -29,19 +38,38 @@ public class SaleItemMapper {
         response.setDiscount(saleItem.getDiscount());
         response.setLineTotal(saleItem.getLineTotal());
         response.setInventoryId(saleItem.getInventoryId());
+        response.setInventoryUnitPrice(saleItem.getInventoryUnitPrice());
+        response.setInventoryDate(saleItem.getInventoryDate());
         response.setCreatedAt(saleItem.getCreatedAt());
         response.setUpdatedAt(saleItem.getUpdatedAt());
 
-        // Fetch inventory batch details if inventory ID exists
-        if (saleItem.getInventoryId() != null) {
-            inventoryRepository.findById(saleItem.getInventoryId())
-                    .ifPresent(inventory -> {
-                        response.setInventoryUnitPrice(inventory.getUnitPrice());
-                        response.setInventoryDate(inventory.getDate());
-                    });
+        return response;
+    }
+
+    /**
+     * Fill batch cost and date for items saved without them, loading every
+     * referenced batch with a single query instead of one lookup per item
+     */
+    public void fillMissingInventoryDetails(Collection<SaleItemResponse> items) {
+        Set<Long> inventoryIds = items.stream()
+                .filter(item -> item.getInventoryId() != null
+                        && item.getInventoryUnitPrice() == null && item.getInventoryDate() == null)
+                .map(SaleItemResponse::getInventoryId)
+                .collect(Collectors.toSet());
+        if (inventoryIds.isEmpty()) {
+            return;
         }
 
-        return response;
+        Map<Long, Inventory> batches = inventoryRepository.findAllById(inventoryIds).stream()
+                .collect(Collectors.toMap(Inventory::getId, Function.identity()));
+
+        for (SaleItemResponse item : items) {
+            Inventory batch = item.getInventoryId() != null ? batches.get(item.getInventoryId()) : null;
+            if (batch != null && item.getInventoryUnitPrice() == null && item.getInventoryDate() == null) {
+                item.setInventoryUnitPrice(batch.getUnitPrice());
+                item.setInventoryDate(batch.getDate());
+            }
+        }
     }
 
     public SaleItemResponse toResponseWithInventory(SaleItem saleItem, Inventory inventory) {
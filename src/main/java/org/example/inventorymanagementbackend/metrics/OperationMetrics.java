@@ -0,0 +1,75 @@
+package org.example.inventorymanagementbackend.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Operation Metrics
+ * Timers and distributions for the checkout and stock hot paths. Operation timers are tagged
+ * with the exception class (or "none"), matching Spring's own http.server.requests convention.
+ */
+@Component
+public class OperationMetrics {
+
+    public static final String SALE_CREATE = "sales.create";
+    public static final String SALE_MARK_PAID = "sales.mark.paid";
+    public static final String SALE_DELETE = "sales.delete";
+    public static final String INVENTORY_MOVEMENT = "inventory.movement.record";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Time a whole operation (all retry attempts included)
+     */
+    public <T> T time(String name, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void time(String name, Runnable action) {
+        time(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Record one phase (validation, allocation, persistence) of a sale creation attempt
+     */
+    public void recordSalePhase(String phase, long startNanos) {
+        Timer.builder("sales.create.phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * FIFO batches one sale line was split across
+     */
+    public void recordBatchesPerLine(int batches) {
+        DistributionSummary.builder("sales.line.batches")
+                .baseUnit("batches")
+                .register(meterRegistry)
+                .record(batches);
+    }
+}
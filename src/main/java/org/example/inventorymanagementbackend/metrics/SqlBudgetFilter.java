@@ -0,0 +1,118 @@
+package org.example.inventorymanagementbackend.metrics;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * SQL Budget Filter
+ * Counts the Hibernate statements and database time of every HTTP request, records them per
+ * endpoint ("METHOD /uri/pattern") and logs requests over their statement or time budget.
+ * With app.sql.budget.fail-on-exceed (meant for tests) an over-budget request throws instead.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql.budget.statements:30}")
+    private int defaultStatementBudget;
+
+    @Value("${app.sql.budget.db-time-ms:500}")
+    private long dbTimeBudgetMs;
+
+    // Per-endpoint statement budgets, e.g. "GET /api/sales=2,POST /api/sales=25"
+    @Value("${app.sql.budget.endpoints:}")
+    private String endpointBudgetSpec;
+
+    @Value("${app.sql.budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    private final Map<String, Integer> endpointBudgets = new HashMap<>();
+
+    public static class SqlBudgetExceededException extends RuntimeException {
+        public SqlBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String entry : endpointBudgetSpec.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                endpointBudgets.put(entry.substring(0, separator).trim(),
+                        Integer.parseInt(entry.substring(separator + 1).trim()));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        String endpoint;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            endpoint = record(request, stats);
+        }
+
+        int statementBudget = endpointBudgets.getOrDefault(endpoint, defaultStatementBudget);
+        if (stats.getStatements() > statementBudget || stats.getDbMillis() > dbTimeBudgetMs) {
+            String message = String.format("SQL budget exceeded by %s: %d statements (budget %d), %d ms in the database (budget %d ms)",
+                    endpoint, stats.getStatements(), statementBudget, stats.getDbMillis(), dbTimeBudgetMs);
+            if (failOnExceed) {
+                throw new SqlBudgetExceededException(message);
+            }
+            logger.warn(message);
+        }
+    }
+
+    private String record(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.db.time")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+
+        String endpoint = request.getMethod() + " " + uri;
+        if (logger.isDebugEnabled()) {
+            logger.debug("{}: {} statements, {} ms in the database", endpoint, stats.getStatements(), stats.getDbMillis());
+        }
+        return endpoint;
+    }
+}
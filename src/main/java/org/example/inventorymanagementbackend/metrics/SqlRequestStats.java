@@ -0,0 +1,51 @@
+package org.example.inventorymanagementbackend.metrics;
+
+/**
+ * SQL Request Stats
+ * Statements and database time of the HTTP request running on the current thread.
+ * A scope is opened by {@link SqlBudgetFilter}; work on other threads (async, scheduled) is not counted.
+ */
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbNanos;
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the current request, or null outside a request scope
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void addStatement() {
+        statements++;
+    }
+
+    void addDbTime(long nanos) {
+        dbNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public long getDbMillis() {
+        return dbNanos / 1_000_000;
+    }
+}
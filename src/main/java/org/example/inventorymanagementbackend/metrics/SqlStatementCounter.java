@@ -0,0 +1,19 @@
+package org.example.inventorymanagementbackend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL Statement Counter
+ * Hibernate statement inspector that counts the statements prepared for the current request
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.addStatement();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.inventorymanagementbackend.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * SQL Timing Listener
+ * Hibernate session listener (one instance per session) that adds the time spent preparing
+ * and executing JDBC statements and batches to the current request's stats
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null && started != 0) {
+            stats.addDbTime(System.nanoTime() - started);
+        }
+        started = 0;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.inventorymanagementbackend.outbox;
+
+import java.util.List;
+
+import org.example.inventorymanagementbackend.event.OutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application Event Outbox Sink
+ * In-process listener API: republishes every committed outbox event as an {@link OutboxMessage}
+ * application event on the dispatcher thread, outside the transaction that wrote it.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String getName() {
+        return "application-events";
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            eventPublisher.publishEvent(message);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.inventorymanagementbackend.outbox;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.example.inventorymanagementbackend.event.OutboxMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * NDJSON File Outbox Sink
+ * Appends each committed outbox event as one JSON line to a local file, for shipping to
+ * reporting or other downstream systems. Enabled with app.outbox.file.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.file.enabled", havingValue = "true")
+public class NdjsonFileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.outbox.file.path:outbox/events.ndjson}")
+    private String path;
+
+    @Override
+    public String getName() {
+        return "ndjson-file";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) throws Exception {
+        Path file = Paths.get(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        // One write per batch; a partial batch is re-appended on retry (at-least-once)
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : messages) {
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.inventorymanagementbackend.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.example.inventorymanagementbackend.entity.OutboxEvent;
+import org.example.inventorymanagementbackend.event.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Outbox Dispatcher
+ * Polls the outbox for committed, unpublished events and hands them to every OutboxSink in
+ * id-ordered batches. A batch is stamped as published only when all sinks accepted it;
+ * otherwise its attempt count is raised and it is retried on the next poll, until
+ * app.outbox.max-attempts is reached and the rows are left for inspection.
+ * Runs on the scheduler thread of a single instance (fixed delay, never overlapping).
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private List<OutboxSink> sinks;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-hours:168}")
+    private int retentionHours;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        // Drain a backlog in consecutive batches, bounded so one poll cannot run forever
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publish the next batch of pending events; returns how many were published
+     */
+    public int dispatchBatch() {
+        List<OutboxEvent> batch = outboxService.findPending(batchSize, maxAttempts);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        List<OutboxMessage> messages = batch.stream().map(OutboxMessage::new).collect(Collectors.toList());
+
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(messages);
+            } catch (Exception e) {
+                logger.warn("Outbox sink '{}' failed for events {}-{}: {}",
+                        sink.getName(), ids.get(0), ids.get(ids.size() - 1), e.getMessage());
+                meterRegistry.counter("outbox.sink.failures", "sink", sink.getName()).increment();
+                outboxService.markFailed(ids, sink.getName() + ": " + e.getMessage());
+                return 0;
+            }
+        }
+
+        outboxService.markPublished(ids);
+        meterRegistry.counter("outbox.published").increment(ids.size());
+        logger.debug("Published {} outbox events up to id {}", ids.size(), ids.get(ids.size() - 1));
+        return ids.size();
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 15 * * * *}")
+    public void purgePublished() {
+        int purged = outboxService.purgePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} published outbox events older than {} hours", purged, retentionHours);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.inventorymanagementbackend.outbox;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.example.inventorymanagementbackend.entity.OutboxEvent;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
+import org.example.inventorymanagementbackend.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Outbox Service
+ * Writes domain events into the outbox table inside the caller's transaction, so an event
+ * exists exactly when the change it describes was committed. Delivery is left to OutboxDispatcher.
+ */
+@Service
+@Transactional
+public class OutboxService {
+
+    public static final String SALE_CREATED = "sale.created";
+    public static final String SALE_PAID = "sale.paid";
+    public static final String SALE_DELETED = "sale.deleted";
+    public static final String SALE_CHECK_BOUNCED = "sale.check.bounced";
+    public static final String SALE_CHECK_CLEARED = "sale.check.cleared";
+    public static final String INVENTORY_RECORDED = "inventory.recorded";
+    public static final String INVENTORY_UPDATED = "inventory.updated";
+    public static final String INVENTORY_DELETED = "inventory.deleted";
+    public static final String INVENTORY_DEPLETED_CLEANED = "inventory.depleted.cleaned";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Add one event to the current transaction; the payload map is serialized as a JSON object
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String eventType, DomainChangeEvent.Type aggregateType, Long aggregateId,
+                       Map<String, Object> payload) {
+        outboxEventRepository.save(toEvent(eventType, aggregateType, aggregateId, payload));
+    }
+
+    /**
+     * Add several events to the current transaction (bulk imports); inserts are batched
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<OutboxEvent> events) {
+        outboxEventRepository.saveAll(events);
+    }
+
+    public OutboxEvent toEvent(String eventType, DomainChangeEvent.Type aggregateType, Long aggregateId,
+                               Map<String, Object> payload) {
+        try {
+            return new OutboxEvent(eventType, aggregateType.name(), aggregateId, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload for " + eventType + " is not serializable", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEvent> findPending(int batchSize, int maxAttempts) {
+        return outboxEventRepository.findPending(maxAttempts, PageRequest.of(0, batchSize));
+    }
+
+    @Transactional(readOnly = true)
+    public long countUnpublished() {
+        return outboxEventRepository.countUnpublished();
+    }
+
+    public void markPublished(Collection<Long> ids) {
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+    }
+
+    public void markFailed(Collection<Long> ids, String error) {
+        String message = error == null ? "unknown" : error;
+        outboxEventRepository.markFailed(ids,
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+
+    public int purgePublishedBefore(LocalDateTime cutoff) {
+        return outboxEventRepository.deletePublishedBefore(cutoff);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.inventorymanagementbackend.outbox;
+
+import java.util.List;
+
+import org.example.inventorymanagementbackend.event.OutboxMessage;
+
+/**
+ * Outbox Sink
+ * Destination for committed outbox events. Every sink bean receives each batch in event id order;
+ * a batch is marked published only after all sinks accepted it, so a failing sink causes the batch
+ * to be delivered again to every sink. Implementations must therefore tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    /**
+     * Name used in logs and metrics
+     */
+    String getName();
+
+    /**
+     * Deliver one batch; throwing leaves the whole batch pending for the next dispatch
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -2,18 +2,32 @@ package org.example.inventorymanagementbackend.repository;
 
 import org.example.inventorymanagementbackend.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     List<Customer> findByIsActiveTrueOrderByNameAsc();
 
+    /**
+     * Lock customers for update in ascending id order (always after any product locks)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT c FROM Customer c WHERE c.id IN :customerIds ORDER BY c.id ASC")
+    List<Customer> findAllByIdForUpdate(@Param("customerIds") Collection<Long> customerIds);
+
     @Query("SELECT c FROM Customer c WHERE c.isActive = true AND " +
             "(UPPER(c.name) LIKE UPPER(CONCAT('%', :searchTerm, '%')) OR " +
             "UPPER(c.email) LIKE UPPER(CONCAT('%', :searchTerm, '%')))")
@@ -0,0 +1,64 @@
+package org.example.inventorymanagementbackend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+
+import org.example.inventorymanagementbackend.entity.DailyCustomerSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the daily per-customer sales rollup
+ */
+@Repository
+public interface DailyCustomerSalesRepository extends JpaRepository<DailyCustomerSales, DailyCustomerSales.Key> {
+
+    /**
+     * Rows of one day, locked so their totals cannot change while they are recomputed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<DailyCustomerSales> findBySaleDayAndCustomerIdIn(LocalDate saleDay, Collection<Long> customerIds);
+
+    /**
+     * Add a sale's totals (negative to take them out again) to an existing row; 0 if the row is missing
+     */
+    @Modifying
+    @Query("UPDATE DailyCustomerSales r SET r.saleCount = r.saleCount + :saleCount, r.quantity = r.quantity + :quantity, " +
+            "r.revenue = r.revenue + :revenue, r.discount = r.discount + :discount, r.fifoCost = r.fifoCost + :fifoCost, " +
+            "r.updatedAt = LOCAL DATETIME WHERE r.saleDay = :saleDay AND r.customerId = :customerId")
+    int addTotals(@Param("saleDay") LocalDate saleDay, @Param("customerId") Long customerId,
+                  @Param("saleCount") long saleCount, @Param("quantity") long quantity,
+                  @Param("revenue") BigDecimal revenue, @Param("discount") BigDecimal discount,
+                  @Param("fifoCost") BigDecimal fifoCost);
+
+    /**
+     * Remove rows of one day whose last sale was taken out
+     */
+    @Modifying
+    @Query("DELETE FROM DailyCustomerSales r WHERE r.saleDay = :saleDay AND r.customerId IN :customerIds AND r.saleCount <= 0")
+    int deleteEmpty(@Param("saleDay") LocalDate saleDay, @Param("customerIds") Collection<Long> customerIds);
+
+    List<DailyCustomerSales> findByCustomerIdAndSaleDayBetweenOrderBySaleDayAsc(Long customerId, LocalDate startDay, LocalDate endDay);
+
+    @Query("SELECT r.customerId FROM DailyCustomerSales r WHERE r.saleDay = :saleDay")
+    List<Long> findCustomerIdsBySaleDay(@Param("saleDay") LocalDate saleDay);
+
+    @Query("SELECT COALESCE(SUM(r.saleCount), 0) FROM DailyCustomerSales r WHERE r.saleDay BETWEEN :startDay AND :endDay")
+    Long sumSaleCountBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * Sales totals grouped by month: [year, month, revenue, fifoCost, saleCount] for days in [startDay, endDay]
+     */
+    @Query("SELECT YEAR(r.saleDay), MONTH(r.saleDay), SUM(r.revenue), SUM(r.fifoCost), SUM(r.saleCount) " +
+            "FROM DailyCustomerSales r WHERE r.saleDay BETWEEN :startDay AND :endDay " +
+            "GROUP BY YEAR(r.saleDay), MONTH(r.saleDay)")
+    List<Object[]> getMonthlyTotals(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+}
@@ -0,0 +1,67 @@
+package org.example.inventorymanagementbackend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+
+import org.example.inventorymanagementbackend.entity.DailyProductSales;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the daily per-product sales rollup
+ */
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, DailyProductSales.Key> {
+
+    /**
+     * Rows of one day, locked so their totals cannot change while they are recomputed
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<DailyProductSales> findBySaleDayAndProductIdIn(LocalDate saleDay, Collection<Long> productIds);
+
+    /**
+     * Add a sale's totals (negative to take them out again) to an existing row; 0 if the row is missing
+     */
+    @Modifying
+    @Query("UPDATE DailyProductSales r SET r.saleCount = r.saleCount + :saleCount, r.quantity = r.quantity + :quantity, " +
+            "r.revenue = r.revenue + :revenue, r.discount = r.discount + :discount, r.fifoCost = r.fifoCost + :fifoCost, " +
+            "r.updatedAt = LOCAL DATETIME WHERE r.saleDay = :saleDay AND r.productId = :productId")
+    int addTotals(@Param("saleDay") LocalDate saleDay, @Param("productId") Long productId,
+                  @Param("saleCount") long saleCount, @Param("quantity") long quantity,
+                  @Param("revenue") BigDecimal revenue, @Param("discount") BigDecimal discount,
+                  @Param("fifoCost") BigDecimal fifoCost);
+
+    /**
+     * Remove rows of one day whose last sale was taken out
+     */
+    @Modifying
+    @Query("DELETE FROM DailyProductSales r WHERE r.saleDay = :saleDay AND r.productId IN :productIds AND r.saleCount <= 0")
+    int deleteEmpty(@Param("saleDay") LocalDate saleDay, @Param("productIds") Collection<Long> productIds);
+
+    List<DailyProductSales> findByProductIdAndSaleDayBetweenOrderBySaleDayAsc(Long productId, LocalDate startDay, LocalDate endDay);
+
+    @Query("SELECT r.productId FROM DailyProductSales r WHERE r.saleDay = :saleDay")
+    List<Long> findProductIdsBySaleDay(@Param("saleDay") LocalDate saleDay);
+
+    @Query("SELECT DISTINCT r.saleDay FROM DailyProductSales r WHERE r.saleDay BETWEEN :startDay AND :endDay")
+    List<LocalDate> findSaleDaysBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * Best sellers by quantity: [productId, code, name, quantity] for days in [startDay, endDay]
+     */
+    @Query("SELECT r.productId, p.code, p.name, SUM(r.quantity) FROM DailyProductSales r, Product p " +
+            "WHERE p.id = r.productId AND r.saleDay BETWEEN :startDay AND :endDay " +
+            "GROUP BY r.productId, p.code, p.name ORDER BY SUM(r.quantity) DESC")
+    List<Object[]> findTopSellingProductsBetween(@Param("startDay") LocalDate startDay,
+                                                 @Param("endDay") LocalDate endDay,
+                                                 Limit limit);
+}
@@ -1,15 +1,23 @@
 package org.example.inventorymanagementbackend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import org.example.inventorymanagementbackend.entity.Inventory;
 import org.example.inventorymanagementbackend.entity.Product;
 import org.example.inventorymanagementbackend.entity.Supplier;
 import org.example.inventorymanagementbackend.enums.PaymentStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -26,6 +34,45 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Query("SELECT i FROM Inventory i ORDER BY i.date DESC")
     List<Inventory> findAllOrderByDateDesc();
 
+    /**
+     * All movements with product and supplier fetched in the same query, newest first
+     */
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product LEFT JOIN FETCH i.supplier ORDER BY i.date DESC, i.id DESC")
+    List<Inventory> findAllWithProductAndSupplierOrderByDateDesc();
+
+    /**
+     * Keyset page of movements ordered by (date, id) descending, with product and supplier fetched.
+     * Combines the findWithFilters and findByDateRangeOrderByDateDesc filters; every filter is optional
+     * and a null cursor returns the first page.
+     */
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product LEFT JOIN FETCH i.supplier WHERE " +
+            "(:productId IS NULL OR i.product.id = :productId) AND " +
+            "(:supplierId IS NULL OR i.supplier.id = :supplierId) AND " +
+            "(:movementType IS NULL OR i.movementType = :movementType) AND " +
+            "(:startDate IS NULL OR i.date >= :startDate) AND " +
+            "(:endDate IS NULL OR i.date <= :endDate) AND " +
+            "(:cursorDate IS NULL OR i.date < :cursorDate OR (i.date = :cursorDate AND i.id < :cursorId)) " +
+            "ORDER BY i.date DESC, i.id DESC")
+    List<Inventory> findPageWithFilters(@Param("productId") Long productId,
+                                        @Param("supplierId") Long supplierId,
+                                        @Param("movementType") Inventory.MovementType movementType,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("cursorDate") LocalDateTime cursorDate,
+                                        @Param("cursorId") Long cursorId,
+                                        Limit limit);
+
+    /**
+     * Purchase cost of IN movements grouped by month: [year, month, amount] for [startDate, endDate).
+     * Uses the received quantity, falling back to the current quantity for rows recorded before it existed.
+     */
+    @Query("SELECT YEAR(i.date), MONTH(i.date), " +
+            "COALESCE(SUM(COALESCE(i.purchasePrice, i.unitPrice, 0) * COALESCE(i.receivedQuantity, i.quantity)), 0) " +
+            "FROM Inventory i WHERE i.movementType = 'IN' AND i.date >= :startDate AND i.date < :endDate " +
+            "GROUP BY YEAR(i.date), MONTH(i.date)")
+    List<Object[]> getMonthlyPurchaseAmounts(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT i FROM Inventory i WHERE i.date BETWEEN :startDate AND :endDate ORDER BY i.date DESC")
     List<Inventory> findByDateRangeOrderByDateDesc(@Param("startDate") LocalDateTime startDate,
                                                    @Param("endDate") LocalDateTime endDate);
@@ -56,6 +103,44 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
            "ORDER BY i.date ASC")
     List<Inventory> findAvailableStockForProductFIFO(@Param("productId") Long productId);
 
+    /**
+     * Find available stock batches for several products in one query
+     * Ordered by product, then FIFO (oldest first, id as tie-breaker)
+     */
+    @Query("SELECT i FROM Inventory i " +
+           "WHERE i.product.id IN :productIds " +
+           "AND i.movementType = 'IN' " +
+           "AND i.quantity > 0 " +
+           "ORDER BY i.product.id ASC, i.date ASC, i.id ASC")
+    List<Inventory> findAvailableStockForProductsFIFO(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Locked variant of findAvailableStockForProductsFIFO (SELECT ... FOR UPDATE)
+     * Callers lock the owning products first via ProductRepository.findAllByIdForUpdate
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT i FROM Inventory i " +
+           "WHERE i.product.id IN :productIds " +
+           "AND i.movementType = 'IN' " +
+           "AND i.quantity > 0 " +
+           "ORDER BY i.product.id ASC, i.date ASC, i.id ASC")
+    List<Inventory> findAvailableStockForProductsFIFOForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Owning product of a movement, read without locking the movement
+     */
+    @Query("SELECT i.product.id FROM Inventory i WHERE i.id = :id")
+    Optional<Long> findProductIdById(@Param("id") Long id);
+
+    /**
+     * One movement read FOR UPDATE; callers lock its product first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT i FROM Inventory i WHERE i.id = :id")
+    Optional<Inventory> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Find all IN movements for a product (for stock tracking)
      */
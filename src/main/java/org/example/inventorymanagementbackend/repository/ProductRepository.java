@@ -3,13 +3,19 @@ package org.example.inventorymanagementbackend.repository;
 
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import org.example.inventorymanagementbackend.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -39,6 +45,16 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     List<Product> findByIsActiveTrueOrderByNameAsc();
 
+    /**
+     * Lock products for update in ascending id order.
+     * Every writer that locks several products must go through this method so
+     * concurrent multi-line sales always acquire row locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
+    @Query("SELECT p FROM Product p WHERE p.id IN :productIds ORDER BY p.id ASC")
+    List<Product> findAllByIdForUpdate(@Param("productIds") Collection<Long> productIds);
+
     /**
      * Find products with low stock
      */
@@ -101,10 +117,29 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findTopProductsByStock();
 
     /**
-     * Update product stock
+     * Update product stock by a signed delta, returns affected rows
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.currentStock = p.currentStock + :quantity, p.version = p.version + 1, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id = :productId")
+    int updateProductStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    /**
+     * Atomically decrement stock only if enough is on hand.
+     * Returns 0 when the product is missing, inactive or short of stock.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.currentStock = p.currentStock - :quantity, p.version = p.version + 1, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id = :productId AND p.isActive = true AND p.currentStock >= :quantity")
+    int decrementStockIfAvailable(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+
+    /**
+     * Atomically increment stock of an active product, returns affected rows
      */
-    @Query("UPDATE Product p SET p.currentStock = p.currentStock + :quantity WHERE p.id = :productId")
-    void updateProductStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
+    @Modifying
+    @Query("UPDATE Product p SET p.currentStock = p.currentStock + :quantity, p.version = p.version + 1, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id = :productId AND p.isActive = true")
+    int incrementStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
 
     /**
      * Find products with discount
@@ -0,0 +1,33 @@
+package org.example.inventorymanagementbackend.repository;
+
+import java.util.List;
+
+import org.example.inventorymanagementbackend.entity.ProductStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the ProductStock projection
+ */
+@Repository
+public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
+
+    /**
+     * Ids of products that do not have a stock projection row yet
+     */
+    @Query("SELECT p.id FROM Product p WHERE NOT EXISTS " +
+            "(SELECT s.productId FROM ProductStock s WHERE s.productId = p.id) ORDER BY p.id ASC")
+    List<Long> findProductIdsWithoutStock();
+
+    /**
+     * Stock summary in one row: products with open batches, their FIFO cost value,
+     * how many of them are at or below their low-stock threshold, and the open batch count
+     */
+    @Query("SELECT COUNT(s), COALESCE(SUM(s.fifoCostValue), 0), " +
+            "COALESCE(SUM(CASE WHEN p.lowStockThreshold IS NOT NULL AND s.onHand <= p.lowStockThreshold THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(s.openBatchCount), 0) " +
+            "FROM ProductStock s JOIN Product p ON p.id = s.productId " +
+            "WHERE s.openBatchCount > 0")
+    List<Object[]> getStockSummary();
+}
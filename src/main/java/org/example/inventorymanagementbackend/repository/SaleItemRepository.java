@@ -1,13 +1,21 @@
 package org.example.inventorymanagementbackend.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 import org.example.inventorymanagementbackend.entity.Product;
 import org.example.inventorymanagementbackend.entity.Sale;
 import org.example.inventorymanagementbackend.entity.SaleItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +27,36 @@ public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
 
     List<SaleItem> findByProductOrderByCreatedAtDesc(Product product);
 
+    /**
+     * Raw per-product totals for sales in [startDate, endDate), used to maintain the daily rollup:
+     * [productId, saleCount, quantity, revenue, discount, fifoCost]
+     */
+    @Query("SELECT si.product.id, COUNT(DISTINCT s.id), SUM(si.quantity), SUM(si.lineTotal), " +
+            "SUM(COALESCE(si.discount, 0)), SUM(COALESCE(si.inventoryUnitPrice, 0) * si.quantity) " +
+            "FROM SaleItem si JOIN si.sale s " +
+            "WHERE s.saleDate >= :startDate AND s.saleDate < :endDate AND si.product.id IN :productIds " +
+            "GROUP BY si.product.id")
+    List<Object[]> aggregateByProductBetween(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate,
+                                             @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Raw per-customer totals for sales in [startDate, endDate), used to maintain the daily rollup:
+     * [customerId, saleCount, quantity, revenue, discount, fifoCost]
+     */
+    @Query("SELECT s.customer.id, COUNT(DISTINCT s.id), SUM(si.quantity), SUM(si.lineTotal), " +
+            "SUM(COALESCE(si.discount, 0)), SUM(COALESCE(si.inventoryUnitPrice, 0) * si.quantity) " +
+            "FROM SaleItem si JOIN si.sale s " +
+            "WHERE s.saleDate >= :startDate AND s.saleDate < :endDate AND s.customer.id IN :customerIds " +
+            "GROUP BY s.customer.id")
+    List<Object[]> aggregateByCustomerBetween(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate,
+                                              @Param("customerIds") Collection<Long> customerIds);
+
+    @Query("SELECT DISTINCT si.product.id FROM SaleItem si WHERE si.sale.saleDate >= :startDate AND si.sale.saleDate < :endDate")
+    List<Long> findProductIdsSoldBetween(@Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT si FROM SaleItem si WHERE si.sale.saleDate BETWEEN :startDate AND :endDate")
     List<SaleItem> findBySaleDateBetween(@Param("startDate") LocalDateTime startDate,
                                          @Param("endDate") LocalDateTime endDate);
@@ -59,6 +97,21 @@ public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
     @Query("SELECT COALESCE(SUM(si.quantity), 0) FROM SaleItem si WHERE si.product.id = :productId")
     Integer getTotalQuantitySoldAsInteger(@Param("productId") Long productId);
 
+    /**
+     * Stream the batch slices sold in [startDate, endDate) for the margin report, as scalar rows:
+     * [productId, productCode, productName, customerId, customerName, saleDate, quantity, lineTotal, inventoryUnitPrice].
+     * Rows arrive in fetch-size chunks; on MySQL that requires useCursorFetch=true on the connection URL.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.code, p.name, c.id, c.name, s.saleDate, si.quantity, si.lineTotal, si.inventoryUnitPrice " +
+            "FROM SaleItem si JOIN si.sale s JOIN si.product p JOIN s.customer c " +
+            "WHERE s.saleDate >= :startDate AND s.saleDate < :endDate")
+    Stream<Object[]> streamMarginRowsBetween(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+
     /**
      * Find sale items with inventory batch details for COGS calculation
      */
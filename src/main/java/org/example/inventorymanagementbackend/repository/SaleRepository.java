@@ -1,15 +1,25 @@
 package org.example.inventorymanagementbackend.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 import org.example.inventorymanagementbackend.entity.Customer;
 import org.example.inventorymanagementbackend.entity.Sale;
 import org.example.inventorymanagementbackend.entity.Sale.PaymentMethod;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,6 +35,72 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     @Query("SELECT s FROM Sale s ORDER BY s.saleDate DESC")
     List<Sale> findAllOrderBySaleDateDesc();
 
+    /**
+     * Sales with customer, items and item products fetched in one query (for listing responses)
+     */
+    @Query("SELECT DISTINCT s FROM Sale s JOIN FETCH s.customer " +
+            "LEFT JOIN FETCH s.saleItems si LEFT JOIN FETCH si.product " +
+            "ORDER BY s.saleDate DESC, si.id ASC")
+    List<Sale> findAllWithItemsOrderBySaleDateDesc();
+
+    @Query("SELECT DISTINCT s FROM Sale s JOIN FETCH s.customer " +
+            "LEFT JOIN FETCH s.saleItems si LEFT JOIN FETCH si.product " +
+            "WHERE s.isPaid = :isPaid ORDER BY s.saleDate DESC, si.id ASC")
+    List<Sale> findByIsPaidWithItemsOrderBySaleDateDesc(@Param("isPaid") Boolean isPaid);
+
+    @Query("SELECT DISTINCT s FROM Sale s JOIN FETCH s.customer " +
+            "LEFT JOIN FETCH s.saleItems si LEFT JOIN FETCH si.product " +
+            "WHERE s.customer.id = :customerId ORDER BY s.saleDate DESC, si.id ASC")
+    List<Sale> findByCustomerIdWithItemsOrderBySaleDateDesc(@Param("customerId") Long customerId);
+
+    @Query("SELECT s FROM Sale s JOIN FETCH s.customer " +
+            "LEFT JOIN FETCH s.saleItems si LEFT JOIN FETCH si.product " +
+            "WHERE s.id = :id ORDER BY si.id ASC")
+    Optional<Sale> findByIdWithItems(@Param("id") Long id);
+
+    /**
+     * Keyset page of sale ids, newest first, with the same optional filters as findWithFilters.
+     * A null cursor returns the first page; otherwise rows strictly after (cursorDate, cursorId).
+     */
+    @Query("SELECT s.id FROM Sale s WHERE " +
+            "(:customerId IS NULL OR s.customer.id = :customerId) AND " +
+            "(:paymentMethod IS NULL OR s.paymentMethod = :paymentMethod) AND " +
+            "(:isPaid IS NULL OR s.isPaid = :isPaid) AND " +
+            "(:cursorDate IS NULL OR s.saleDate < :cursorDate OR (s.saleDate = :cursorDate AND s.id < :cursorId)) " +
+            "ORDER BY s.saleDate DESC, s.id DESC")
+    List<Long> findIdPageWithFilters(@Param("customerId") Long customerId,
+                                     @Param("paymentMethod") Sale.PaymentMethod paymentMethod,
+                                     @Param("isPaid") Boolean isPaid,
+                                     @Param("cursorDate") LocalDateTime cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Limit limit);
+
+    /**
+     * Sales with customer, items and item products for the given ids (one page)
+     */
+    @Query("SELECT DISTINCT s FROM Sale s JOIN FETCH s.customer " +
+            "LEFT JOIN FETCH s.saleItems si LEFT JOIN FETCH si.product " +
+            "WHERE s.id IN :ids ORDER BY s.saleDate DESC, s.id DESC, si.id ASC")
+    List<Sale> findAllByIdWithItems(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream sales with their customer for exports, newest first.
+     * Items are loaded per chunk by the caller so the result set is never fully materialized.
+     * On MySQL the fetch size only applies with useCursorFetch=true on the connection URL.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Sale s JOIN FETCH s.customer WHERE " +
+            "(:customerId IS NULL OR s.customer.id = :customerId) AND " +
+            "(:paymentMethod IS NULL OR s.paymentMethod = :paymentMethod) AND " +
+            "(:isPaid IS NULL OR s.isPaid = :isPaid) " +
+            "ORDER BY s.saleDate DESC, s.id DESC")
+    Stream<Sale> streamWithFilters(@Param("customerId") Long customerId,
+                                   @Param("paymentMethod") Sale.PaymentMethod paymentMethod,
+                                   @Param("isPaid") Boolean isPaid);
+
     @Query("SELECT s FROM Sale s WHERE s.saleDate BETWEEN :startDate AND :endDate ORDER BY s.saleDate DESC")
     List<Sale> findBySaleDateBetweenOrderBySaleDateDesc(@Param("startDate") LocalDateTime startDate,
                                                         @Param("endDate") LocalDateTime endDate);
@@ -47,6 +123,17 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     BigDecimal getTotalSalesAmountBetween(@Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
 
+    @Query("SELECT DISTINCT s.customer.id FROM Sale s WHERE s.saleDate >= :startDate AND s.saleDate < :endDate")
+    List<Long> findCustomerIdsBetween(@Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT DISTINCT CAST(s.saleDate AS LocalDate) FROM Sale s WHERE s.saleDate >= :startDate AND s.saleDate < :endDate")
+    List<LocalDate> findSaleDaysBetween(@Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT MIN(s.saleDate) FROM Sale s")
+    LocalDateTime findFirstSaleDate();
+
     @Query("SELECT COUNT(s) FROM Sale s WHERE s.saleDate BETWEEN :startDate AND :endDate")
     Long countSalesBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
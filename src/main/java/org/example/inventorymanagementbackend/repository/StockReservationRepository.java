@@ -0,0 +1,39 @@
+package org.example.inventorymanagementbackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.example.inventorymanagementbackend.entity.StockReservation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for stock reservation holds.
+ * Product ids are read first (unlocked) so callers can lock the products before loading the holds.
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Query("SELECT DISTINCT r.productId FROM StockReservation r WHERE r.reservationId = :reservationId")
+    List<Long> findProductIdsByReservationId(@Param("reservationId") String reservationId);
+
+    List<StockReservation> findByReservationId(String reservationId);
+
+    /**
+     * Holds of a reservation that have not expired yet
+     */
+    List<StockReservation> findByReservationIdAndExpiresAtAfter(String reservationId, LocalDateTime now);
+
+    /**
+     * Products with at least one expired hold, oldest expiry first
+     */
+    @Query("SELECT r.productId FROM StockReservation r WHERE r.expiresAt < :now " +
+            "GROUP BY r.productId ORDER BY MIN(r.expiresAt) ASC")
+    List<Long> findProductIdsWithExpiredHolds(@Param("now") LocalDateTime now, Limit limit);
+
+    List<StockReservation> findByProductIdInAndExpiresAtBefore(Collection<Long> productIds, LocalDateTime now);
+}
@@ -22,16 +22,22 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final PasswordEncoder passwordEncoder;
 
+    // BCrypt hash of the admin password, computed once on first login
+    private volatile String encodedAdminPassword;
+
     public CustomUserDetailsService(PasswordEncoder passwordEncoder) {
         this.passwordEncoder = passwordEncoder;
     }
 
+    /**
+     * Only used by the login flow; authenticated requests are resolved from the JWT claims
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         if (adminUsername.equals(username)) {
             return User.builder()
                     .username(adminUsername)
-                    .password(passwordEncoder.encode(adminPassword))
+                    .password(getEncodedAdminPassword())
                     .authorities(new ArrayList<>())
                     .build();
         }
@@ -39,6 +45,20 @@ public class CustomUserDetailsService implements UserDetailsService {
         throw new UsernameNotFoundException("User not found: " + username);
     }
 
+    private String getEncodedAdminPassword() {
+        String encoded = encodedAdminPassword;
+        if (encoded == null) {
+            synchronized (this) {
+                encoded = encodedAdminPassword;
+                if (encoded == null) {
+                    encoded = passwordEncoder.encode(adminPassword);
+                    encodedAdminPassword = encoded;
+                }
+            }
+        }
+        return encoded;
+    }
+
     public boolean validateCredentials(String username, String password) {
         if (adminUsername.equals(username) && adminPassword.equals(password)) {
             return true;
@@ -5,11 +5,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,7 +20,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    private UserDetailsService userDetailsService;
+    private JwtPrincipalCache principalCache;
     private JwtTokenProvider jwtTokenProvider;
 
     // Default constructor
@@ -28,8 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     // Setter methods for dependency injection
-    public void setUserDetailsService(UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public void setPrincipalCache(JwtPrincipalCache principalCache) {
+        this.principalCache = principalCache;
     }
 
     public void setJwtTokenProvider(JwtTokenProvider jwtTokenProvider) {
@@ -43,11 +43,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider != null && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            // One verification per request; the claims are reused for the principal
+            Claims claims = StringUtils.hasText(jwt) && jwtTokenProvider != null
+                    ? jwtTokenProvider.parseAndValidate(jwt) : null;
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null && userDetailsService != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (claims != null) {
+                String username = claims.getSubject();
+
+                // Stateless: the principal comes from the verified claims, the user store is not consulted
+                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null && principalCache != null) {
+                    UserDetails userDetails = principalCache.getPrincipal(username, jwtTokenProvider.getRoles(claims));
 
                     if (userDetails != null) {
                         UsernamePasswordAuthenticationToken authentication =
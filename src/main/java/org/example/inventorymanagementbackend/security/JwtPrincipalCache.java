@@ -0,0 +1,64 @@
+package org.example.inventorymanagementbackend.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of principals built from validated JWT claims.
+ * Authenticated requests reuse the principal for a (username, roles) pair instead of
+ * loading the user (and hashing its password) on every call.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final Map<String, UserDetails> principals;
+
+    public JwtPrincipalCache(@Value("${app.security.principal-cache-size:1000}") int maxSize) {
+        int capacity = Math.max(maxSize, 1);
+        this.principals = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserDetails> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Principal for a token subject and its role claims (cached)
+     */
+    public UserDetails getPrincipal(String username, Collection<String> roles) {
+        List<String> roleList = roles != null ? new ArrayList<>(roles) : List.of();
+        String key = username + "|" + String.join(",", roleList);
+
+        synchronized (principals) {
+            UserDetails principal = principals.get(key);
+            if (principal == null) {
+                List<GrantedAuthority> authorities = new ArrayList<>();
+                roleList.forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
+                // No credentials: the token has already been verified
+                principal = User.withUsername(username)
+                        .password("")
+                        .authorities(authorities)
+                        .build();
+                principals.put(key, principal);
+            }
+            return principal;
+        }
+    }
+
+    public int size() {
+        synchronized (principals) {
+            return principals.size();
+        }
+    }
+}
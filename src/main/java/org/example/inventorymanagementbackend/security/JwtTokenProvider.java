@@ -1,5 +1,8 @@
 package org.example.inventorymanagementbackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -7,16 +10,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    public static final String ROLES_CLAIM = "roles";
 
     @Value("${app.jwt.secret:myVerySecureSecretKeyThatIsAtLeast32CharactersLongForHS256Algorithm}")
     private String jwtSecret;
@@ -24,47 +40,72 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
     private long jwtExpirationTime;
 
-    private SecretKey getSigningKey() {
+    @Value("${app.security.verified-token-cache-size:1024}")
+    private int verifiedTokenCacheSize;
+
+    // Derived once; JwtParser is immutable and safe to share between threads
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // SHA-256 digest of recently verified tokens -> their claims, so repeat requests skip the
+    // HMAC and JSON parse. Size-bounded; each entry expires together with its token.
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
         // FIX: Remove the double Base64 encoding
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(verifiedTokenCacheSize, 1))
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    private SecretKey getSigningKey() {
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationTime);
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            return claims.getSubject();
-        } catch (Exception e) {
-            logger.error("Error extracting username from token: {}", e.getMessage());
+    /**
+     * Verify a token once and return its claims, or null if it is invalid or expired.
+     * Tokens verified recently are served from a bounded cache until they expire.
+     */
+    public Claims parseAndValidate(String token) {
+        if (token == null || token.isEmpty()) {
             return null;
         }
-    }
 
-    public boolean validateToken(String authToken) {
+        String key = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null && verified.expiresAt > System.currentTimeMillis()) {
+            return verified.toClaims();
+        }
+
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+            verifiedTokens.put(key, new VerifiedToken(claims, expiresAt));
             logger.debug("JWT token is valid");
-            return true;
+            return claims;
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token: {}", ex.getMessage());
         } catch (ExpiredJwtException ex) {
@@ -76,6 +117,87 @@ public class JwtTokenProvider {
         } catch (JwtException ex) {
             logger.error("JWT token validation error: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Role names carried in the token (empty for tokens issued before roles were added)
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof List) {
+            return ((List<Object>) roles).stream().map(String::valueOf).collect(Collectors.toList());
+        }
+        return List.of();
+    }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = parseAndValidate(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseAndValidate(authToken) != null;
+    }
+
+    long verifiedTokenCount() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    /**
+     * Cache key for a token, so the cache never holds the bearer credential itself
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Immutable copy of verified claims; every hit gets its own Claims instance
+     */
+    private static class VerifiedToken {
+        private final Map<String, Object> claims;
+        private final long expiresAt;
+
+        private VerifiedToken(Claims claims, long expiresAt) {
+            Map<String, Object> copy = new LinkedHashMap<>(claims);
+            if (copy.get(ROLES_CLAIM) instanceof List<?> roles) {
+                copy.put(ROLES_CLAIM, List.copyOf(roles));
+            }
+            this.claims = Collections.unmodifiableMap(copy);
+            this.expiresAt = expiresAt;
+        }
+
+        private Claims toClaims() {
+            return Jwts.claims(claims);
+        }
+    }
+
+    /**
+     * Entries live until their token expires (or are evicted earlier by size)
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAt - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -1,16 +1,20 @@
 package org.example.inventorymanagementbackend.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.example.inventorymanagementbackend.dto.request.CustomerRequest;
 import org.example.inventorymanagementbackend.dto.response.CustomerResponse;
 import org.example.inventorymanagementbackend.entity.Customer;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
 import org.example.inventorymanagementbackend.mapper.CustomerMapper;
 import org.example.inventorymanagementbackend.repository.CustomerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +24,9 @@ public class CustomerService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomerService.class);
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private CustomerRepository customerRepository;
 
@@ -48,6 +55,7 @@ public class CustomerService {
 
         Customer savedCustomer = customerRepository.save(customer);
         logger.info("Customer created successfully with id: {}", savedCustomer.getId());
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.CUSTOMER, savedCustomer.getId()));
 
         return customerMapper.toResponse(savedCustomer);
     }
@@ -67,6 +75,7 @@ public class CustomerService {
         existingCustomer.setOutstandingBalance(request.getOutstandingBalance());
 
         Customer savedCustomer = customerRepository.save(existingCustomer);
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.CUSTOMER, id));
         return customerMapper.toResponse(savedCustomer);
     }
 
@@ -78,6 +87,7 @@ public class CustomerService {
         customer.setIsActive(false);
         customerRepository.save(customer);
         logger.info("Customer deleted successfully with id: {}", id);
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.CUSTOMER, id));
     }
 
     @Transactional(readOnly = true)
@@ -87,7 +97,18 @@ public class CustomerService {
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
     }
 
+    /**
+     * Load active customers for several ids in one query, keyed by id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomerEntitiesByIds(Collection<Long> ids) {
+        return customerRepository.findAllById(ids).stream()
+                .filter(c -> c.getIsActive())
+                .collect(Collectors.toMap(Customer::getId, c -> c));
+    }
+
     public void updateCustomer(Customer customer) {
     customerRepository.save(customer);
+    eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.CUSTOMER, customer.getId()));
 }
 }
@@ -2,27 +2,71 @@ package org.example.inventorymanagementbackend.service;
 
 import org.example.inventorymanagementbackend.dto.response.*;
 import org.example.inventorymanagementbackend.entity.Sale;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
 import org.example.inventorymanagementbackend.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+/**
+ * Dashboard Service
+ * Serves all dashboard widgets from one in-memory snapshot. Domain change events only mark the
+ * snapshot stale; it is rebuilt by the first read that finds it stale for longer than
+ * app.dashboard.max-staleness-ms or older than app.dashboard.max-age-ms. Writes therefore never
+ * trigger rebuilds themselves, and a busy write path costs at most one rebuild per staleness
+ * window while someone is reading.
+ */
 @Service
 @Transactional(readOnly = true)
 public class DashboardService {
 
     private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+    private static final int MAX_CHART_MONTHS = 120;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Bumped by every committed change; a snapshot is current if it was built at the latest version
+    private final AtomicLong changeVersion = new AtomicLong();
+    // When the oldest change not yet in the snapshot was committed (0 = none)
+    private final AtomicLong staleSince = new AtomicLong();
+    // Foreground rebuild in progress; concurrent misses share it instead of starting their own
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    @Value("${app.dashboard.max-staleness-ms:5000}")
+    private long maxStalenessMs;
+
+    @Value("${app.dashboard.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Autowired
     private ProductRepository productRepository;
@@ -37,7 +81,13 @@ public class DashboardService {
     private SaleRepository saleRepository;
 
     @Autowired
-    private SaleItemRepository saleItemRepository;
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private DailyCustomerSalesRepository dailyCustomerSalesRepository;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
 
     @Autowired
     private ProductService productService;
@@ -45,7 +95,130 @@ public class DashboardService {
     @Autowired
     private SaleService saleService;
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardSummaryResponse getDashboardSummary() {
+        return currentSnapshot().summary;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProductResponse> getLowStockAlerts() {
+        return currentSnapshot().lowStockAlerts;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CheckReminderResponse> getCheckReminders() {
+        return currentSnapshot().checkReminders;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TopSellingProductResponse> getTopSellingProducts() {
+        return currentSnapshot().topSellingProducts;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SalesVsPurchasesResponse> getSalesVsPurchasesData() {
+        return currentSnapshot().salesVsPurchases;
+    }
+
+    /**
+     * Mark the snapshot stale once the change is committed; the next read past the staleness
+     * window rebuilds it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDomainChange(DomainChangeEvent event) {
+        changeVersion.incrementAndGet();
+        staleSince.compareAndSet(0, System.currentTimeMillis());
+        logger.debug("Dashboard snapshot invalidated by {}", event);
+    }
+
+    /**
+     * Snapshot hit/miss counters and freshness
+     */
+    public DashboardCacheStatsResponse getCacheStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        Snapshot current = snapshot.get();
+
+        DashboardCacheStatsResponse stats = new DashboardCacheStatsResponse();
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.setRebuilds(rebuilds.sum());
+        stats.setStale(current == null || current.version < changeVersion.get());
+        stats.setSnapshotAgeMs(current != null ? System.currentTimeMillis() - current.builtAtMillis : null);
+        stats.setMaxStalenessMs(maxStalenessMs);
+        stats.setMaxAgeMs(maxAgeMs);
+        return stats;
+    }
+
+    /**
+     * Serve the snapshot, rebuilding it when it is no longer servable. Only one caller rebuilds at a time; the others
+     * get the previous snapshot if there is one, or wait for the rebuild (without holding a connection).
+     */
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current != null && isServable(current, System.currentTimeMillis())) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+
+        CompletableFuture<Snapshot> rebuild = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, rebuild);
+        if (running != null) {
+            return current != null ? current : await(running);
+        }
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        try {
+            Snapshot built = template.execute(status -> buildSnapshot());
+            rebuild.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            rebuild.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private Snapshot await(CompletableFuture<Snapshot> rebuild) {
+        try {
+            return rebuild.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private boolean isServable(Snapshot current, long now) {
+        if (now - current.builtAtMillis > maxAgeMs) {
+            return false;
+        }
+        if (current.version >= changeVersion.get()) {
+            return true;
+        }
+        long since = staleSince.get();
+        return since != 0 && now - since <= maxStalenessMs;
+    }
+
+    private Snapshot buildSnapshot() {
+        long version = changeVersion.get();
+        Snapshot built = new Snapshot(version, System.currentTimeMillis(), loadDashboardSummary(),
+                loadLowStockAlerts(), loadCheckReminders(), loadTopSellingProducts(), loadSalesVsPurchasesData());
+
+        snapshot.accumulateAndGet(built, (current, candidate) ->
+                current == null || candidate.version >= current.version ? candidate : current);
+        // Changes committed during the build are not in it; date their staleness from the build's start
+        staleSince.set(version >= changeVersion.get() ? 0 : built.builtAtMillis);
+        rebuilds.increment();
+        logger.debug("Dashboard snapshot rebuilt at version {}", version);
+        return built;
+    }
+
+    private DashboardSummaryResponse loadDashboardSummary() {
         logger.debug("Generating dashboard summary");
 
         DashboardSummaryResponse summary = new DashboardSummaryResponse();
@@ -64,19 +237,19 @@ public class DashboardService {
         // Unpaid sales amount
         summary.setUnpaidSalesAmount(saleRepository.getTotalUnpaidAmount());
 
-        // Total sales count
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        summary.setTotalSales(saleRepository.countSalesBetween(startOfMonth, LocalDateTime.now()));
+        // Total sales count this month (daily rollup)
+        LocalDate today = LocalDate.now();
+        summary.setTotalSales(dailyCustomerSalesRepository.sumSaleCountBetween(today.withDayOfMonth(1), today));
 
         return summary;
     }
 
-    public List<ProductResponse> getLowStockAlerts() {
+    private List<ProductResponse> loadLowStockAlerts() {
         logger.debug("Fetching low stock alerts");
         return productService.getLowStockProducts();
     }
 
-    public List<CheckReminderResponse> getCheckReminders() {
+    private List<CheckReminderResponse> loadCheckReminders() {
         logger.debug("Fetching check reminders");
 
         LocalDate today = LocalDate.now();
@@ -89,47 +262,56 @@ public class DashboardService {
                 .collect(Collectors.toList());
     }
 
-    public List<TopSellingProductResponse> getTopSellingProducts() {
+    private List<TopSellingProductResponse> loadTopSellingProducts() {
         logger.debug("Fetching top selling products");
 
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = LocalDateTime.now();
-
-        List<Object[]> results = saleItemRepository.findTopSellingProductsBetween(startOfMonth, endOfMonth);
-
-        return results.stream()
-                .limit(10) // Top 10 products
-                .map(result -> new TopSellingProductResponse(
-                        (Long) result[0],     // productId
-                        (String) result[1],   // productCode
-                        (String) result[2],   // productName
-                        (Long) result[3]      // totalQuantity
-                ))
-                .collect(Collectors.toList());
+        // Top 10 products this month (daily rollup)
+        LocalDate today = LocalDate.now();
+        return salesRollupService.getTopSellingProducts(today.withDayOfMonth(1), today, 10);
     }
 
-    public List<SalesVsPurchasesResponse> getSalesVsPurchasesData() {
-        logger.debug("Fetching sales vs purchases data");
-
-        List<SalesVsPurchasesResponse> data = new ArrayList<>();
-
-        for (int i = 5; i >= 0; i--) {
-            LocalDateTime startDate = LocalDateTime.now().minusMonths(i).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime endDate = startDate.plusMonths(1).minusDays(1).withHour(23).withMinute(59).withSecond(59);
+    /**
+     * Monthly sales and purchase totals for an inclusive month range.
+     * Sales come from the daily rollup and purchases from IN movements, one grouped query each;
+     * months without activity are reported as zero.
+     */
+    public List<SalesVsPurchasesResponse> getSalesVsPurchasesData(YearMonth from, YearMonth to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Month range must have from <= to");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_CHART_MONTHS) {
+            throw new IllegalArgumentException("Month range cannot exceed " + MAX_CHART_MONTHS + " months");
+        }
+        logger.debug("Fetching sales vs purchases data from {} to {}", from, to);
 
-            String monthName = startDate.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) +
-                    " " + startDate.getYear();
+        LocalDateTime startDate = from.atDay(1).atStartOfDay();
+        LocalDateTime endDate = to.plusMonths(1).atDay(1).atStartOfDay();
+        Map<YearMonth, BigDecimal> sales = toMonthlyAmounts(
+                dailyCustomerSalesRepository.getMonthlyTotals(from.atDay(1), to.atEndOfMonth()));
+        Map<YearMonth, BigDecimal> purchases = toMonthlyAmounts(inventoryRepository.getMonthlyPurchaseAmounts(startDate, endDate));
 
-            BigDecimal salesAmount = saleRepository.getTotalSalesAmountBetween(startDate, endDate);
+        List<SalesVsPurchasesResponse> data = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String monthName = month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + month.getYear();
+            data.add(new SalesVsPurchasesResponse(monthName,
+                    sales.getOrDefault(month, BigDecimal.ZERO),
+                    purchases.getOrDefault(month, BigDecimal.ZERO)));
+        }
+        return data;
+    }
 
-            // For purchases, we could track inventory IN movements with costs
-            // For now, using a simple calculation based on stock movements
-            BigDecimal purchasesAmount = calculatePurchasesForPeriod(startDate, endDate);
+    private List<SalesVsPurchasesResponse> loadSalesVsPurchasesData() {
+        YearMonth current = YearMonth.now();
+        return getSalesVsPurchasesData(current.minusMonths(5), current);
+    }
 
-            data.add(new SalesVsPurchasesResponse(monthName, salesAmount, purchasesAmount));
+    private Map<YearMonth, BigDecimal> toMonthlyAmounts(List<Object[]> rows) {
+        Map<YearMonth, BigDecimal> amounts = new HashMap<>();
+        for (Object[] row : rows) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            amounts.put(month, row[2] instanceof BigDecimal ? (BigDecimal) row[2] : new BigDecimal(row[2].toString()));
         }
-
-        return data;
+        return amounts;
     }
 
     private CheckReminderResponse mapToCheckReminder(Sale sale) {
@@ -146,16 +328,29 @@ public class DashboardService {
         return reminder;
     }
 
-    private BigDecimal calculatePurchasesForPeriod(LocalDateTime startDate, LocalDateTime endDate) {
-        // This is a simplified calculation
-        // In a real system, you might track purchase orders and their costs
-        // For now, we'll estimate based on inventory movements and average product costs
-
-        // You could implement actual purchase tracking here
-        // For demonstration, returning a calculated estimate
-        BigDecimal salesAmount = saleRepository.getTotalSalesAmountBetween(startDate, endDate);
-
-        // Estimate purchases as 70% of sales (simplified business logic)
-        return salesAmount.multiply(BigDecimal.valueOf(0.7));
+    /**
+     * Everything the dashboard shows, captured at one change version
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final long builtAtMillis;
+        private final DashboardSummaryResponse summary;
+        private final List<ProductResponse> lowStockAlerts;
+        private final List<CheckReminderResponse> checkReminders;
+        private final List<TopSellingProductResponse> topSellingProducts;
+        private final List<SalesVsPurchasesResponse> salesVsPurchases;
+
+        private Snapshot(long version, long builtAtMillis, DashboardSummaryResponse summary,
+                         List<ProductResponse> lowStockAlerts, List<CheckReminderResponse> checkReminders,
+                         List<TopSellingProductResponse> topSellingProducts,
+                         List<SalesVsPurchasesResponse> salesVsPurchases) {
+            this.version = version;
+            this.builtAtMillis = builtAtMillis;
+            this.summary = summary;
+            this.lowStockAlerts = List.copyOf(lowStockAlerts);
+            this.checkReminders = List.copyOf(checkReminders);
+            this.topSellingProducts = List.copyOf(topSellingProducts);
+            this.salesVsPurchases = List.copyOf(salesVsPurchases);
+        }
     }
 }
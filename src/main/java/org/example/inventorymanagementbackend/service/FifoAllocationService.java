@@ -0,0 +1,371 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
+import org.example.inventorymanagementbackend.entity.Inventory;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.entity.ProductStock;
+import org.example.inventorymanagementbackend.repository.InventoryRepository;
+import org.example.inventorymanagementbackend.repository.ProductRepository;
+import org.example.inventorymanagementbackend.repository.ProductStockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * FIFO Allocation Service
+ * Loads the open batches of every product on a sale once and plans the whole
+ * multi-line allocation in memory. Writers use lockSnapshot, which acquires
+ * product row locks in ascending id order so multi-line sales cannot deadlock.
+ * Units held by stock reservations are not available to the plan.
+ */
+@Service
+@Transactional
+public class FifoAllocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FifoAllocationService.class);
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    /**
+     * Load active products and their open FIFO batches (one query each)
+     */
+    public StockSnapshot loadSnapshot(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new StockSnapshot(Collections.emptyMap(), Collections.emptyMap());
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                products.put(product.getId(), product);
+            }
+        }
+
+        Map<Long, List<Inventory>> batches = new HashMap<>();
+        for (Inventory batch : inventoryRepository.findAvailableStockForProductsFIFO(productIds)) {
+            batches.computeIfAbsent(batch.getProduct().getId(), id -> new ArrayList<>()).add(batch);
+        }
+
+        logger.debug("Loaded FIFO snapshot for {} products with {} open batches",
+                products.size(), batches.values().stream().mapToInt(List::size).sum());
+
+        return new StockSnapshot(products, batches);
+    }
+
+    /**
+     * Load a snapshot for writing: product rows are locked first in ascending id order,
+     * then their open batches are read FOR UPDATE. Must run inside the writing transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StockSnapshot lockSnapshot(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new StockSnapshot(Collections.emptyMap(), Collections.emptyMap());
+        }
+
+        List<Long> orderedIds = new ArrayList<>(new TreeSet<>(productIds));
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : lockProducts(orderedIds).values()) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                products.put(product.getId(), product);
+            }
+        }
+
+        Map<Long, List<Inventory>> batches = new HashMap<>();
+        for (Inventory batch : inventoryRepository.findAvailableStockForProductsFIFOForUpdate(orderedIds)) {
+            batches.computeIfAbsent(batch.getProduct().getId(), id -> new ArrayList<>()).add(batch);
+        }
+
+        logger.debug("Locked {} products and {} open batches for FIFO allocation",
+                products.size(), batches.values().stream().mapToInt(List::size).sum());
+
+        StockSnapshot snapshot = new StockSnapshot(products, batches);
+        // Reservations change only under the product locks taken above
+        for (ProductStock stock : productStockRepository.findAllById(orderedIds)) {
+            snapshot.setReservedQuantity(stock.getProductId(), stock.getReserved());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Lock product rows (active or not) in ascending id order, keyed by id
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Product> lockProducts(Collection<Long> productIds) {
+        Map<Long, Product> products = new LinkedHashMap<>();
+        if (productIds == null || productIds.isEmpty()) {
+            return products;
+        }
+
+        // Sorted ids keep the lock order deterministic regardless of sale line order
+        for (Product product : productRepository.findAllByIdForUpdate(new TreeSet<>(productIds))) {
+            products.put(product.getId(), product);
+        }
+        return products;
+    }
+
+    /**
+     * Plan FIFO allocation of all sale lines against the snapshot.
+     * The snapshot is not modified; lines for the same product draw from the same batches in order.
+     */
+    public AllocationPlan plan(StockSnapshot snapshot, List<SaleItemRequest> items) {
+        AllocationPlan plan = new AllocationPlan();
+
+        // Units already claimed by earlier lines of this plan, per batch id
+        Map<Long, Integer> claimed = new HashMap<>();
+        Map<Long, Integer> requiredByProduct = new LinkedHashMap<>();
+
+        for (SaleItemRequest item : items) {
+            requiredByProduct.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+
+            Product product = snapshot.getProduct(item.getProductId());
+            if (product == null) {
+                continue;
+            }
+
+            LineAllocation line = new LineAllocation(item, product);
+            int remaining = item.getQuantity();
+
+            for (Inventory batch : snapshot.getBatches(item.getProductId())) {
+                if (remaining <= 0) break;
+
+                int free = batch.getQuantity() - claimed.getOrDefault(batch.getId(), 0);
+                if (free <= 0) continue;
+
+                int quantityFromBatch = Math.min(remaining, free);
+                line.addSlice(batch, quantityFromBatch);
+                claimed.merge(batch.getId(), quantityFromBatch, Integer::sum);
+                remaining -= quantityFromBatch;
+            }
+
+            plan.addLine(line);
+        }
+
+        // Validate per product so repeated lines are checked against their combined quantity
+        for (Map.Entry<Long, Integer> entry : requiredByProduct.entrySet()) {
+            Long productId = entry.getKey();
+            int required = entry.getValue();
+            Product product = snapshot.getProduct(productId);
+
+            if (product == null) {
+                plan.addMissingProduct(productId);
+                continue;
+            }
+
+            int available = snapshot.getAvailableQuantity(productId);
+            if (available < required) {
+                plan.addShortfall(String.format(
+                        "Insufficient stock for product '%s' (Code: %s). Required: %d, Available: %d, Shortfall: %d",
+                        product.getName(), product.getCode(), required, available, required - available));
+            } else if (snapshot.getRemainingProductStock(productId) < required) {
+                plan.addShortfall(String.format(
+                        "Product '%s' current stock is insufficient. Required: %d, Product Stock: %d",
+                        product.getName(), required, snapshot.getRemainingProductStock(productId)));
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * Products and open FIFO batches loaded for one transaction
+     */
+    public static class StockSnapshot {
+        private final Map<Long, Product> products;
+        private final Map<Long, List<Inventory>> batches;
+        private final Map<Long, Integer> allocatedByProduct = new HashMap<>();
+        private final Map<Long, Integer> reservedByProduct = new HashMap<>();
+
+        public StockSnapshot(Map<Long, Product> products, Map<Long, List<Inventory>> batches) {
+            this.products = products;
+            this.batches = batches;
+        }
+
+        public Product getProduct(Long productId) {
+            return products.get(productId);
+        }
+
+        public Collection<Product> getProducts() {
+            return products.values();
+        }
+
+        /**
+         * Open batches for a product, oldest first
+         */
+        public List<Inventory> getBatches(Long productId) {
+            return batches.getOrDefault(productId, Collections.emptyList());
+        }
+
+        /**
+         * Units in open batches that are not held by a stock reservation
+         */
+        public int getAvailableQuantity(Long productId) {
+            int onHand = getBatches(productId).stream().mapToInt(Inventory::getQuantity).sum();
+            return Math.max(onHand - getReservedQuantity(productId), 0);
+        }
+
+        public int getReservedQuantity(Long productId) {
+            return reservedByProduct.getOrDefault(productId, 0);
+        }
+
+        public void setReservedQuantity(Long productId, Integer quantity) {
+            reservedByProduct.put(productId, quantity != null ? quantity : 0);
+        }
+
+        /**
+         * Stop counting units as reserved (a reservation converted by the sale being planned)
+         */
+        public void releaseReserved(Long productId, int quantity) {
+            reservedByProduct.put(productId, Math.max(getReservedQuantity(productId) - quantity, 0));
+        }
+
+        /**
+         * Product stock left after allocations already applied against this snapshot
+         */
+        public int getRemainingProductStock(Long productId) {
+            Product product = products.get(productId);
+            if (product == null || product.getCurrentStock() == null) {
+                return 0;
+            }
+            return product.getCurrentStock() - allocatedByProduct.getOrDefault(productId, 0);
+        }
+
+        /**
+         * Record an applied plan so later plans against the same snapshot
+         * see the reduced product stock (batch quantities are reduced by the caller)
+         */
+        public void recordAllocation(AllocationPlan plan) {
+            plan.getQuantityByProduct().forEach((productId, quantity) ->
+                    allocatedByProduct.merge(productId, quantity, Integer::sum));
+        }
+
+        /**
+         * Units allocated per product since the snapshot was loaded
+         */
+        public Map<Long, Integer> getAllocatedByProduct() {
+            return allocatedByProduct;
+        }
+    }
+
+    /**
+     * Result of planning a sale against a snapshot
+     */
+    public static class AllocationPlan {
+        private final List<LineAllocation> lines = new ArrayList<>();
+        private final List<Long> missingProductIds = new ArrayList<>();
+        private final List<String> shortfalls = new ArrayList<>();
+
+        void addLine(LineAllocation line) {
+            lines.add(line);
+        }
+
+        void addMissingProduct(Long productId) {
+            missingProductIds.add(productId);
+        }
+
+        void addShortfall(String message) {
+            shortfalls.add(message);
+        }
+
+        public List<LineAllocation> getLines() {
+            return lines;
+        }
+
+        public List<Long> getMissingProductIds() {
+            return missingProductIds;
+        }
+
+        public List<String> getShortfalls() {
+            return shortfalls;
+        }
+
+        public boolean isFulfilled() {
+            return missingProductIds.isEmpty() && shortfalls.isEmpty();
+        }
+
+        /**
+         * Total units allocated per product across all lines
+         */
+        public Map<Long, Integer> getQuantityByProduct() {
+            Map<Long, Integer> totals = new LinkedHashMap<>();
+            for (LineAllocation line : lines) {
+                totals.merge(line.getProduct().getId(), line.getAllocatedQuantity(), Integer::sum);
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Batch slices planned for one sale line
+     */
+    public static class LineAllocation {
+        private final SaleItemRequest item;
+        private final Product product;
+        private final List<BatchSlice> slices = new ArrayList<>();
+
+        LineAllocation(SaleItemRequest item, Product product) {
+            this.item = item;
+            this.product = product;
+        }
+
+        void addSlice(Inventory batch, int quantity) {
+            slices.add(new BatchSlice(batch, quantity));
+        }
+
+        public SaleItemRequest getItem() {
+            return item;
+        }
+
+        public Product getProduct() {
+            return product;
+        }
+
+        public List<BatchSlice> getSlices() {
+            return slices;
+        }
+
+        public int getAllocatedQuantity() {
+            return slices.stream().mapToInt(BatchSlice::getQuantity).sum();
+        }
+    }
+
+    /**
+     * Quantity taken from a single batch
+     */
+    public static class BatchSlice {
+        private final Inventory batch;
+        private final int quantity;
+
+        BatchSlice(Inventory batch, int quantity) {
+            this.batch = batch;
+            this.quantity = quantity;
+        }
+
+        public Inventory getBatch() {
+            return batch;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
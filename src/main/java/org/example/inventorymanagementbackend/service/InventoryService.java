@@ -5,23 +5,42 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.example.inventorymanagementbackend.dto.request.InventoryRequest;
+import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
+import org.example.inventorymanagementbackend.dto.response.InventoryPageResponse;
 import org.example.inventorymanagementbackend.dto.response.InventoryResponse;
 import org.example.inventorymanagementbackend.entity.Inventory;
 import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.entity.ProductStock;
 import org.example.inventorymanagementbackend.entity.Supplier;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
+import org.example.inventorymanagementbackend.exception.ServiceBusyException;
 import org.example.inventorymanagementbackend.mapper.InventoryMapper;
+import org.example.inventorymanagementbackend.metrics.OperationMetrics;
+import org.example.inventorymanagementbackend.outbox.OutboxService;
 import org.example.inventorymanagementbackend.repository.InventoryRepository;
 import org.example.inventorymanagementbackend.repository.ProductRepository;
 import org.example.inventorymanagementbackend.repository.SupplierRepository;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.AllocationPlan;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.BatchSlice;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.LineAllocation;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -29,6 +48,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class InventoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private InventoryRepository inventoryRepository;
@@ -45,6 +69,24 @@ public class InventoryService {
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private FifoAllocationService fifoAllocationService;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${app.inventory.bulk-max-receipts:5000}")
+    private int bulkMaxReceipts;
+
 
 
     // Custom Exceptions
@@ -65,7 +107,7 @@ public class InventoryService {
     @Transactional(readOnly = true)
     public List<InventoryResponse> getAllInventoryMovements() {
         try {
-            List<Inventory> movements = inventoryRepository.findAllOrderByDateDesc();
+            List<Inventory> movements = inventoryRepository.findAllWithProductAndSupplierOrderByDateDesc();
             return movements.stream()
                     .map(inventoryMapper::toResponse)
                     .collect(Collectors.toList());
@@ -75,6 +117,53 @@ public class InventoryService {
         }
     }
 
+    /**
+     * Keyset page of inventory movements ordered by (date, id) descending, with optional filters.
+     * Product and supplier are fetched in the same query, so each page is a single SELECT.
+     */
+    @Transactional(readOnly = true)
+    public InventoryPageResponse getInventoryMovementsPage(Long productId, Long supplierId, String movementType,
+                                                           LocalDateTime startDate, LocalDateTime endDate,
+                                                           String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InventoryValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InventoryValidationException("Start date must not be after end date");
+        }
+
+        KeysetCursor after;
+        Inventory.MovementType type;
+        try {
+            after = KeysetCursor.decode(cursor);
+            type = movementType != null && !movementType.isBlank() ? parseMovementType(movementType) : null;
+        } catch (IllegalArgumentException e) {
+            throw new InventoryValidationException(e.getMessage());
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<Inventory> rows = inventoryRepository.findPageWithFilters(productId, supplierId, type, startDate, endDate,
+                after != null ? after.getTimestamp() : null, after != null ? after.getId() : null,
+                Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<InventoryResponse> items = rows.stream()
+                .map(inventoryMapper::toResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            Inventory last = rows.get(rows.size() - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
+        }
+
+        return new InventoryPageResponse(items, nextCursor, hasMore, pageSize);
+    }
+
     @Transactional(readOnly = true)
     public List<InventoryResponse> getInventoryByProduct(Long productId) {
         try {
@@ -113,10 +202,7 @@ public class InventoryService {
                 return true;
             }
             
-            List<Inventory> availableBatches = inventoryRepository.findAvailableStockForProductFIFO(productId);
-            int totalAvailable = availableBatches.stream()
-                    .mapToInt(Inventory::getQuantity)
-                    .sum();
+            int totalAvailable = productStockService.getAvailableQuantity(productId);
             
             boolean available = totalAvailable >= requiredQuantity;
             logger.debug("Stock check for product {}: Required={}, Available={}, Sufficient={}", 
@@ -130,108 +216,36 @@ public class InventoryService {
     }
 
     /**
-     * ENHANCED: Get total available stock for a product (only positive quantities)
+     * Get total available stock for a product from the stock projection
      */
     @Transactional(readOnly = true)
     public int getTotalAvailableStock(Long productId) {
         try {
-            // Try using the enhanced repository method first
-            Integer stock = null;
-            try {
-                stock = inventoryRepository.getTotalAvailableStockForProduct(productId);
-            } catch (Exception e) {
-                logger.debug("Repository method not available, using fallback approach");
-            }
-            
-            if (stock != null) {
-                int availableStock = stock;
-                logger.debug("Total available stock for product {} (from repository): {}", productId, availableStock);
-                return availableStock;
-            }
-            
-            // Fallback method
-            List<Inventory> availableBatches = inventoryRepository.findAvailableStockForProductFIFO(productId);
-            int totalStock = availableBatches.stream()
-                    .mapToInt(Inventory::getQuantity)
-                    .sum();
-                    
-            logger.debug("Total available stock for product {} (from calculation): {}", productId, totalStock);
-            return totalStock;
-            
+            int availableStock = productStockService.getAvailableQuantity(productId);
+            logger.debug("Total available stock for product {}: {}", productId, availableStock);
+            return availableStock;
         } catch (Exception e) {
             logger.error("Error fetching total available stock for product ID {}: ", productId, e);
             return 0;
         }
     }
 
+    /**
+     * Inventory totals aggregated from the stock projection in a single query,
+     * independent of how many batches exist
+     */
     @Transactional(readOnly = true)
     public Map<String, Object> getInventorySummary() {
         try {
             Map<String, Object> summary = new HashMap<>();
+            Object[] row = productStockService.getStockSummary();
+
+            summary.put("productsWithStock", row[0]);
+            summary.put("totalInventoryValue", row[1]);
+            summary.put("lowStockProducts", row[2]);
+            summary.put("totalBatches", row[3]);
             
-            List<Inventory> allStock;
-            try {
-                allStock = inventoryRepository.findOldestAvailableStock();
-            } catch (Exception e) {
-                allStock = inventoryRepository.findByQuantityGreaterThan(0);
-            }
-            
-            if (allStock == null) {
-                allStock = new ArrayList<>();
-            }
-            
-            long productsWithStock = allStock.stream()
-                    .filter(inv -> inv != null && inv.getProduct() != null)
-                    .map(inv -> inv.getProduct().getId())
-                    .distinct()
-                    .count();
-            
-            BigDecimal totalValue = allStock.stream()
-                    .filter(inv -> inv != null && inv.getUnitPrice() != null && inv.getQuantity() != null)
-                    .map(inv -> {
-                        try {
-                            return inv.getUnitPrice().multiply(BigDecimal.valueOf(inv.getQuantity()));
-                        } catch (Exception e) {
-                            logger.warn("Error calculating value for inventory item: " + inv.getId(), e);
-                            return BigDecimal.ZERO;
-                        }
-                    })
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            long lowStockCount = 0;
-            try {
-                Map<Long, Integer> productStockMap = allStock.stream()
-                        .filter(inv -> inv != null && inv.getProduct() != null)
-                        .collect(Collectors.groupingBy(
-                            inv -> inv.getProduct().getId(),
-                            Collectors.summingInt(inv -> inv.getQuantity() != null ? inv.getQuantity() : 0)
-                        ));
-                
-                lowStockCount = productStockMap.entrySet().stream()
-                        .filter(entry -> {
-                            try {
-                                Product product = productService.getProductEntityById(entry.getKey());
-                                if (product != null && product.getLowStockThreshold() != null) {
-                                    return entry.getValue() <= product.getLowStockThreshold();
-                                }
-                                return false;
-                            } catch (Exception e) {
-                                logger.warn("Error checking low stock for product: " + entry.getKey(), e);
-                                return false;
-                            }
-                        })
-                        .count();
-            } catch (Exception e) {
-                logger.warn("Error calculating low stock count", e);
-                lowStockCount = 0;
-            }
-            
-            summary.put("productsWithStock", productsWithStock);
-            summary.put("totalInventoryValue", totalValue);
-            summary.put("lowStockProducts", lowStockCount);
-            summary.put("totalBatches", allStock.size());
-            
-            logger.info("Inventory summary calculated successfully: " + summary);
+            logger.info("Inventory summary calculated successfully: {}", summary);
             return summary;
             
         } catch (Exception e) {
@@ -261,141 +275,277 @@ public class InventoryService {
         }
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public InventoryResponse recordInventoryMovement(InventoryRequest request) {
+        return operationMetrics.time(OperationMetrics.INVENTORY_MOVEMENT, () ->
+                transactionRetryExecutor.execute("Record inventory movement", Isolation.DEFAULT,
+                        () -> recordInventoryMovementAttempt(request)));
+    }
+
+    private InventoryResponse recordInventoryMovementAttempt(InventoryRequest request) {
         logger.info("Recording inventory movement for product: {}", request.getProductId());
         logger.debug("Request details - MovementType: {}, Quantity: {}, UnitPrice: {}, SupplierId: {}",
                 request.getMovementType(), request.getQuantity(), request.getUnitPrice(), request.getSupplierId());
 
         try {
-            Product product = productService.getProductEntityById(request.getProductId());
-            logger.debug("Found product: {} (ID: {})", product.getName(), product.getId());
+            // An OUT takes units from the oldest batches, as a sale would, so the batches keep matching
+            // current stock. The product is locked before anything else loads it.
+            Inventory.MovementType movementType = parseMovementType(request.getMovementType());
+            StockSnapshot drained = movementType == Inventory.MovementType.OUT
+                    ? drainOldestBatches(request.getProductId(), request.getQuantity())
+                    : null;
+            Inventory inventory = buildInventoryMovement(request);
 
-            Inventory inventory = new Inventory();
-            inventory.setProduct(product);
-            inventory.setQuantity(request.getQuantity());
-            inventory.setReference(request.getReference());
-            inventory.setDate(request.getDate());
+            logger.debug("Saving inventory movement");
+            Inventory savedInventory = inventoryRepository.save(inventory);
+            logger.debug("Inventory movement saved with ID: {}", savedInventory.getId());
 
-            if (request.getUnitPrice() != null) {
-                inventory.setUnitPrice(BigDecimal.valueOf(request.getUnitPrice()));
-                logger.debug("Set unit price: {}", request.getUnitPrice());
+            boolean isAddition = movementType == Inventory.MovementType.IN;
+            logger.debug("Updating product stock, isAddition: {}, quantity: {}", isAddition, request.getQuantity());
+            productService.updateProductStock(request.getProductId(), request.getQuantity(), isAddition);
+            if (drained != null) {
+                productStockService.refresh(drained);
+            } else {
+                productStockService.refresh(List.of(request.getProductId()));
             }
+            outboxService.append(OutboxService.INVENTORY_RECORDED, DomainChangeEvent.Type.INVENTORY,
+                    savedInventory.getId(), outboxPayload(savedInventory));
 
-            Inventory.MovementType movementType = parseMovementType(request.getMovementType());
-            inventory.setMovementType(movementType);
+            logger.info("Inventory movement recorded successfully with ID: {}", savedInventory.getId());
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, savedInventory.getId()));
+            return inventoryMapper.toResponse(savedInventory);
 
-            // Handle payment tracking fields for IN movements
-            if (movementType == Inventory.MovementType.IN) {
-                if (request.getSupplierId() == null) {
-                    logger.error("Supplier ID is null for IN movement");
-                    throw new IllegalArgumentException("Supplier is required for stock IN movements");
-                }
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error while recording inventory movement: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
+            logger.error("Unexpected error recording inventory movement: ", e);
+            throw new RuntimeException("Failed to record inventory movement: " + e.getMessage(), e);
+        }
+    }
 
-                logger.debug("Looking for supplier with ID: {}", request.getSupplierId());
-                Supplier supplier = supplierService.getSupplierEntityById(request.getSupplierId());
-                logger.debug("Found supplier: {} (ID: {})", supplier.getName(), supplier.getId());
-                inventory.setSupplier(supplier);
+    /**
+     * Remove units from the product's open batches, oldest first, under the product lock.
+     * Units held by stock reservations cannot be taken.
+     */
+    private StockSnapshot drainOldestBatches(Long productId, Integer quantity) {
+        if (quantity == null || quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
 
-                // Set payment tracking fields
-                if (request.getPurchasePrice() != null) {
-                    inventory.setPurchasePrice(request.getPurchasePrice());
-                    logger.debug("Set purchase price: {}", request.getPurchasePrice());
-                }
+        StockSnapshot snapshot = fifoAllocationService.lockSnapshot(List.of(productId));
+        AllocationPlan plan = fifoAllocationService.plan(snapshot,
+                List.of(new SaleItemRequest(productId, quantity, BigDecimal.ZERO)));
+        if (!plan.getMissingProductIds().isEmpty()) {
+            throw new IllegalArgumentException("Product not found or inactive: " + productId);
+        }
+        if (!plan.isFulfilled()) {
+            throw new IllegalArgumentException(String.join("; ", plan.getShortfalls()));
+        }
 
-                // Convert string payment method to enum
-                if (request.getPaymentMethod() != null && !request.getPaymentMethod().trim().isEmpty()) {
-                    try {
-                        inventory.setPaymentMethod(
-                            org.example.inventorymanagementbackend.enums.PaymentMethod.valueOf(
-                                request.getPaymentMethod().toUpperCase()
-                            )
-                        );
-                        logger.debug("Set payment method: {}", request.getPaymentMethod());
-                    } catch (IllegalArgumentException e) {
-                        logger.warn("Invalid payment method: {}, defaulting to CASH", request.getPaymentMethod());
-                        inventory.setPaymentMethod(org.example.inventorymanagementbackend.enums.PaymentMethod.CASH);
-                    }
-                }
+        List<Inventory> batches = new ArrayList<>();
+        for (LineAllocation line : plan.getLines()) {
+            for (BatchSlice slice : line.getSlices()) {
+                Inventory batch = slice.getBatch();
+                batch.setQuantity(batch.getQuantity() - slice.getQuantity());
+                batches.add(batch);
+            }
+        }
+        inventoryRepository.saveAll(batches);
+        snapshot.recordAllocation(plan);
+        logger.debug("Drained {} units of product {} from {} batches", quantity, productId, batches.size());
+        return snapshot;
+    }
 
-                // Convert string payment status to enum
-                if (request.getPaymentStatus() != null && !request.getPaymentStatus().trim().isEmpty()) {
-                    try {
-                        inventory.setPaymentStatus(
-                            org.example.inventorymanagementbackend.enums.PaymentStatus.valueOf(
-                                request.getPaymentStatus().toUpperCase()
-                            )
-                        );
-                        logger.debug("Set payment status: {}", request.getPaymentStatus());
-                    } catch (IllegalArgumentException e) {
-                        logger.warn("Invalid payment status: {}, defaulting to PENDING", request.getPaymentStatus());
-                        inventory.setPaymentStatus(org.example.inventorymanagementbackend.enums.PaymentStatus.PENDING);
-                    }
-                }
+    /**
+     * Record a batch of stock receipts (IN movements) in one transaction.
+     * Rows are inserted with saveAll so Hibernate can batch them, and each product's
+     * stock is incremented once, in ascending product id order.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<InventoryResponse> recordStockReceipts(List<InventoryRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InventoryValidationException("At least one stock receipt is required");
+        }
+        if (requests.size() > bulkMaxReceipts) {
+            throw new InventoryValidationException("Too many stock receipts in one request. Maximum: " + bulkMaxReceipts);
+        }
 
-                if (request.getPaidAmount() != null) {
-                    inventory.setPaidAmount(request.getPaidAmount());
-                    logger.debug("Set paid amount: {}", request.getPaidAmount());
-                }
+        return transactionRetryExecutor.execute("Record stock receipts", Isolation.DEFAULT,
+                () -> recordStockReceiptsAttempt(requests));
+    }
 
-                if (request.getCheckNumber() != null) {
-                    inventory.setCheckNumber(request.getCheckNumber());
-                }
+    private List<InventoryResponse> recordStockReceiptsAttempt(List<InventoryRequest> requests) {
+        logger.info("Recording {} stock receipts", requests.size());
 
-                if (request.getCheckDate() != null) {
-                    inventory.setCheckDate(request.getCheckDate());
-                }
+        List<Inventory> receipts = new ArrayList<>(requests.size());
+        Map<Long, Integer> quantityByProduct = new TreeMap<>();
 
-                if (request.getNotes() != null) {
-                    inventory.setNotes(request.getNotes());
-                }
+        for (int i = 0; i < requests.size(); i++) {
+            InventoryRequest request = requests.get(i);
+            if (request.getProductId() == null || request.getQuantity() == null || request.getQuantity() < 1) {
+                throw new InventoryValidationException("Receipt " + i + ": product and a positive quantity are required");
+            }
+            if (request.getMovementType() == null || parseMovementType(request.getMovementType()) != Inventory.MovementType.IN) {
+                throw new InventoryValidationException("Receipt " + i + ": only IN movements can be recorded in bulk");
+            }
+            receipts.add(buildInventoryMovement(request));
+            quantityByProduct.merge(request.getProductId(), request.getQuantity(), Integer::sum);
+        }
 
-                // Update supplier financial tracking
-                if (request.getPurchasePrice() != null && request.getQuantity() != null) {
-                    BigDecimal totalCost = request.getPurchasePrice().multiply(
-                        BigDecimal.valueOf(request.getQuantity())
-                    );
+        List<Inventory> saved = inventoryRepository.saveAll(receipts);
+        quantityByProduct.forEach((productId, quantity) ->
+                productService.updateProductStock(productId, quantity, true));
+        productStockService.refresh(quantityByProduct.keySet());
+        outboxService.appendAll(saved.stream()
+                .map(receipt -> outboxService.toEvent(OutboxService.INVENTORY_RECORDED, DomainChangeEvent.Type.INVENTORY,
+                        receipt.getId(), outboxPayload(receipt)))
+                .collect(Collectors.toList()));
+
+        logger.info("Recorded {} stock receipts across {} products", saved.size(), quantityByProduct.size());
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, null));
+        return saved.stream()
+                .map(inventoryMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Outbox payload for one inventory movement
+     */
+    private Map<String, Object> outboxPayload(Inventory inventory) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("inventoryId", inventory.getId());
+        payload.put("productId", inventory.getProduct().getId());
+        payload.put("movementType", inventory.getMovementType());
+        payload.put("quantity", inventory.getQuantity());
+        payload.put("receivedQuantity", inventory.getReceivedQuantity());
+        payload.put("unitPrice", inventory.getUnitPrice());
+        payload.put("supplierId", inventory.getSupplier() != null ? inventory.getSupplier().getId() : null);
+        payload.put("date", inventory.getDate());
+        payload.put("reference", inventory.getReference());
+        return payload;
+    }
+
+    /**
+     * Build an inventory movement from a request, applying supplier tracking for IN movements.
+     * The entity is not saved and product stock is not changed.
+     */
+    private Inventory buildInventoryMovement(InventoryRequest request) {
+        Product product = productService.getProductEntityById(request.getProductId());
+        logger.debug("Found product: {} (ID: {})", product.getName(), product.getId());
+
+        Inventory inventory = new Inventory();
+        inventory.setProduct(product);
+        inventory.setQuantity(request.getQuantity());
+        inventory.setReference(request.getReference());
+        inventory.setDate(request.getDate());
+
+        if (request.getUnitPrice() != null) {
+            inventory.setUnitPrice(BigDecimal.valueOf(request.getUnitPrice()));
+            logger.debug("Set unit price: {}", request.getUnitPrice());
+        }
+
+        Inventory.MovementType movementType = parseMovementType(request.getMovementType());
+        inventory.setMovementType(movementType);
 
-                    // Determine if the purchase is fully paid
-                    boolean isPaid = false;
-                    if (inventory.getPaymentStatus() == org.example.inventorymanagementbackend.enums.PaymentStatus.PAID) {
-                        isPaid = true;
-                    }
-
-                    supplier.addPurchase(totalCost, isPaid);
-                    supplierRepository.save(supplier);
-                    logger.debug("Updated supplier financial tracking - Total cost: {}, Paid: {}", totalCost, isPaid);
-                    logger.info("Saved supplier with updated balances - Outstanding: {}, Total Purchases: {}, Total Paid: {}",
-                        supplier.getOutstandingBalance(), supplier.getTotalPurchases(), supplier.getTotalPaid());
+        // Handle payment tracking fields for IN movements
+        if (movementType == Inventory.MovementType.IN) {
+            if (request.getSupplierId() == null) {
+                logger.error("Supplier ID is null for IN movement");
+                throw new IllegalArgumentException("Supplier is required for stock IN movements");
+            }
+
+            logger.debug("Looking for supplier with ID: {}", request.getSupplierId());
+            Supplier supplier = supplierService.getSupplierEntityById(request.getSupplierId());
+            logger.debug("Found supplier: {} (ID: {})", supplier.getName(), supplier.getId());
+            inventory.setSupplier(supplier);
+
+            // Set payment tracking fields
+            if (request.getPurchasePrice() != null) {
+                inventory.setPurchasePrice(request.getPurchasePrice());
+                logger.debug("Set purchase price: {}", request.getPurchasePrice());
+            }
+
+            // Convert string payment method to enum
+            if (request.getPaymentMethod() != null && !request.getPaymentMethod().trim().isEmpty()) {
+                try {
+                    inventory.setPaymentMethod(
+                        org.example.inventorymanagementbackend.enums.PaymentMethod.valueOf(
+                            request.getPaymentMethod().toUpperCase()
+                        )
+                    );
+                    logger.debug("Set payment method: {}", request.getPaymentMethod());
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Invalid payment method: {}, defaulting to CASH", request.getPaymentMethod());
+                    inventory.setPaymentMethod(org.example.inventorymanagementbackend.enums.PaymentMethod.CASH);
                 }
             }
 
-            if (movementType == Inventory.MovementType.OUT) {
-                logger.debug("Validating stock for OUT movement");
-                if (!isStockAvailable(request.getProductId(), request.getQuantity())) {
-                    logger.warn("Insufficient stock for product: {} (requested: {})",
-                            product.getName(), request.getQuantity());
-                    throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+            // Convert string payment status to enum
+            if (request.getPaymentStatus() != null && !request.getPaymentStatus().trim().isEmpty()) {
+                try {
+                    inventory.setPaymentStatus(
+                        org.example.inventorymanagementbackend.enums.PaymentStatus.valueOf(
+                            request.getPaymentStatus().toUpperCase()
+                        )
+                    );
+                    logger.debug("Set payment status: {}", request.getPaymentStatus());
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Invalid payment status: {}, defaulting to PENDING", request.getPaymentStatus());
+                    inventory.setPaymentStatus(org.example.inventorymanagementbackend.enums.PaymentStatus.PENDING);
                 }
             }
 
-            logger.debug("Saving inventory movement");
-            Inventory savedInventory = inventoryRepository.save(inventory);
-            logger.debug("Inventory movement saved with ID: {}", savedInventory.getId());
+            if (request.getPaidAmount() != null) {
+                inventory.setPaidAmount(request.getPaidAmount());
+                logger.debug("Set paid amount: {}", request.getPaidAmount());
+            }
 
-            boolean isAddition = movementType == Inventory.MovementType.IN;
-            logger.debug("Updating product stock, isAddition: {}, quantity: {}", isAddition, request.getQuantity());
-            productService.updateProductStock(request.getProductId(), request.getQuantity(), isAddition);
+            if (request.getCheckNumber() != null) {
+                inventory.setCheckNumber(request.getCheckNumber());
+            }
 
-            logger.info("Inventory movement recorded successfully with ID: {}", savedInventory.getId());
-            return inventoryMapper.toResponse(savedInventory);
+            if (request.getCheckDate() != null) {
+                inventory.setCheckDate(request.getCheckDate());
+            }
 
-        } catch (IllegalArgumentException e) {
-            logger.error("Validation error while recording inventory movement: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Unexpected error recording inventory movement: ", e);
-            throw new RuntimeException("Failed to record inventory movement: " + e.getMessage(), e);
+            if (request.getNotes() != null) {
+                inventory.setNotes(request.getNotes());
+            }
+
+            // Update supplier financial tracking
+            if (request.getPurchasePrice() != null && request.getQuantity() != null) {
+                BigDecimal totalCost = request.getPurchasePrice().multiply(
+                    BigDecimal.valueOf(request.getQuantity())
+                );
+
+                // Determine if the purchase is fully paid
+                boolean isPaid = false;
+                if (inventory.getPaymentStatus() == org.example.inventorymanagementbackend.enums.PaymentStatus.PAID) {
+                    isPaid = true;
+                }
+
+                supplier.addPurchase(totalCost, isPaid);
+                supplierRepository.save(supplier);
+                logger.debug("Updated supplier financial tracking - Total cost: {}, Paid: {}", totalCost, isPaid);
+                logger.info("Saved supplier with updated balances - Outstanding: {}, Total Purchases: {}, Total Paid: {}",
+                    supplier.getOutstandingBalance(), supplier.getTotalPurchases(), supplier.getTotalPaid());
+            }
+        }
+
+        if (movementType == Inventory.MovementType.OUT) {
+            logger.debug("Validating stock for OUT movement");
+            if (!isStockAvailable(request.getProductId(), request.getQuantity())) {
+                logger.warn("Insufficient stock for product: {} (requested: {})",
+                        product.getName(), request.getQuantity());
+                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+            }
         }
+
+        return inventory;
     }
 
     private Inventory.MovementType parseMovementType(String movementType) {
@@ -582,7 +732,7 @@ public class InventoryService {
     /**
      * Add a new stock entry (compatible with frontend) - SIMPLIFIED VERSION
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Map<String, Object> addStockEntry(Long productId, Map<String, Object> stockData) {
         try {
             logger.info("Adding stock entry for product ID: {}", productId);
@@ -627,6 +777,8 @@ public class InventoryService {
             logger.info("Stock entry added successfully with ID: {}", response.getId());
             return result;
             
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error adding stock entry for product ID {}: ", productId, e);
             throw new RuntimeException("Failed to add stock entry: " + e.getMessage(), e);
@@ -656,13 +808,20 @@ public class InventoryService {
      * Delete an inventory entry by ID
      * This will also update the product's current stock accordingly
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteInventoryEntry(Long inventoryId) {
+        transactionRetryExecutor.execute("Delete inventory entry", Isolation.DEFAULT, () -> {
+            deleteInventoryEntryAttempt(inventoryId);
+            return null;
+        });
+    }
+
+    private void deleteInventoryEntryAttempt(Long inventoryId) {
         try {
             logger.info("Deleting inventory entry with ID: {}", inventoryId);
             
             // Find the inventory entry
-            Inventory inventory = inventoryRepository.findById(inventoryId)
+            Inventory inventory = lockBatch(inventoryId)
                     .orElseThrow(() -> new RuntimeException("Inventory entry not found with id: " + inventoryId));
             
             // Store details for stock adjustment
@@ -674,6 +833,7 @@ public class InventoryService {
                     product.getName(), quantity, movementType);
             
             // Delete the inventory entry
+            Map<String, Object> payload = outboxPayload(inventory);
             inventoryRepository.delete(inventory);
             logger.debug("Inventory entry deleted from database");
             
@@ -684,8 +844,11 @@ public class InventoryService {
             
             logger.debug("Adjusting product stock - isSubtraction: {}, quantity: {}", isSubtraction, quantity);
             productService.updateProductStock(product.getId(), quantity, !isSubtraction);
+            productStockService.refresh(List.of(product.getId()));
+            outboxService.append(OutboxService.INVENTORY_DELETED, DomainChangeEvent.Type.INVENTORY, inventoryId, payload);
             
             logger.info("Inventory entry {} deleted successfully and product stock adjusted", inventoryId);
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, inventoryId));
             
         } catch (RuntimeException e) {
             logger.error("Error deleting inventory entry {}: {}", inventoryId, e.getMessage());
@@ -699,13 +862,20 @@ public class InventoryService {
     /**
      * Delete a stock entry (Frontend compatible method)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteStockEntry(Long productId, Long entryId) {
+        transactionRetryExecutor.execute("Delete stock entry", Isolation.DEFAULT, () -> {
+            deleteStockEntryAttempt(productId, entryId);
+            return null;
+        });
+    }
+
+    private void deleteStockEntryAttempt(Long productId, Long entryId) {
         try {
             logger.info("Deleting stock entry {} for product {}", entryId, productId);
             
             // Verify the entry belongs to the specified product
-            Inventory inventory = inventoryRepository.findById(entryId)
+            Inventory inventory = lockBatch(entryId)
                     .orElseThrow(() -> new RuntimeException("Stock entry not found with id: " + entryId));
             
             if (!inventory.getProduct().getId().equals(productId)) {
@@ -718,7 +888,7 @@ public class InventoryService {
             }
             
             // Use the main delete method
-            deleteInventoryEntry(entryId);
+            deleteInventoryEntryAttempt(entryId);
             
             logger.info("Stock entry {} deleted successfully for product {}", entryId, productId);
             
@@ -735,13 +905,20 @@ public class InventoryService {
      * Soft delete inventory entry (mark as inactive instead of physical delete)
      * Alternative approach if you prefer to keep records
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void softDeleteInventoryEntry(Long inventoryId) {
+        transactionRetryExecutor.execute("Soft delete inventory entry", Isolation.DEFAULT, () -> {
+            softDeleteInventoryEntryAttempt(inventoryId);
+            return null;
+        });
+    }
+
+    private void softDeleteInventoryEntryAttempt(Long inventoryId) {
         try {
             logger.info("Soft deleting inventory entry with ID: {}", inventoryId);
             
             // Find the inventory entry
-            Inventory inventory = inventoryRepository.findById(inventoryId)
+            Inventory inventory = lockBatch(inventoryId)
                     .orElseThrow(() -> new RuntimeException("Inventory entry not found with id: " + inventoryId));
             
             // Add an isActive field to your Inventory entity if you want this approach
@@ -749,9 +926,12 @@ public class InventoryService {
             // inventoryRepository.save(inventory);
             
             // For now, use hard delete
-            deleteInventoryEntry(inventoryId);
+            deleteInventoryEntryAttempt(inventoryId);
             
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error soft deleting inventory entry {}: ", inventoryId, e);
             throw new RuntimeException("Failed to soft delete inventory entry: " + e.getMessage(), e);
         }
@@ -804,7 +984,13 @@ public class InventoryService {
     /**
      * Create new inventory entry
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public InventoryResponse createInventory(InventoryRequest request) {
+        return transactionRetryExecutor.execute("Create inventory", Isolation.DEFAULT,
+                () -> createInventoryAttempt(request));
+    }
+
+    private InventoryResponse createInventoryAttempt(InventoryRequest request) {
         try {
             logger.debug("Creating new inventory entry for product: {}", request.getProductId());
             
@@ -830,17 +1016,23 @@ public class InventoryService {
             
             // Update product current stock for IN movements
             if (inventory.getMovementType() == Inventory.MovementType.IN) {
-                product.setCurrentStock(product.getCurrentStock() + request.getQuantity());
-                productService.saveProduct(product);
+                productService.updateProductStock(product.getId(), request.getQuantity(), true);
             }
+            productStockService.refresh(List.of(product.getId()));
+            outboxService.append(OutboxService.INVENTORY_RECORDED, DomainChangeEvent.Type.INVENTORY,
+                    savedInventory.getId(), outboxPayload(savedInventory));
             
             logger.info("Inventory created successfully with id: {}", savedInventory.getId());
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, savedInventory.getId()));
             return inventoryMapper.toResponse(savedInventory);
             
         } catch (InventoryValidationException e) {
             logger.warn("Validation error creating inventory: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error creating inventory: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to create inventory", e);
         }
@@ -849,11 +1041,17 @@ public class InventoryService {
     /**
      * Update existing inventory
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public InventoryResponse updateInventory(Long id, InventoryRequest request) {
+        return transactionRetryExecutor.execute("Update inventory", Isolation.DEFAULT,
+                () -> updateInventoryAttempt(id, request));
+    }
+
+    private InventoryResponse updateInventoryAttempt(Long id, InventoryRequest request) {
         try {
             logger.debug("Updating inventory with id: {}", id);
             
-            Inventory inventory = inventoryRepository.findById(id)
+            Inventory inventory = lockBatch(id)
                     .orElseThrow(() -> new InventoryValidationException("Inventory not found with id: " + id));
             
             validateInventoryRequest(request);
@@ -865,6 +1063,9 @@ public class InventoryService {
             
             // Update inventory fields
             inventory.setQuantity(newQuantity);
+            if (inventory.isStockIn() && inventory.getReceivedQuantity() != null) {
+                inventory.setReceivedQuantity(Math.max(inventory.getReceivedQuantity() + quantityDifference, 0));
+            }
             if (request.getUnitPrice() != null) {
                 inventory.setUnitPrice(BigDecimal.valueOf(request.getUnitPrice()));
             }
@@ -879,18 +1080,25 @@ public class InventoryService {
             
             // Update product current stock only for IN movements
             if (inventory.getMovementType() == Inventory.MovementType.IN) {
-                Product product = inventory.getProduct();
-                product.setCurrentStock(product.getCurrentStock() + quantityDifference);
-                productService.saveProduct(product);
+                productService.updateProductStock(inventory.getProduct().getId(),
+                        Math.abs(quantityDifference), quantityDifference >= 0);
             }
+            productStockService.refresh(List.of(inventory.getProduct().getId()));
+            Map<String, Object> payload = outboxPayload(savedInventory);
+            payload.put("previousQuantity", oldQuantity);
+            outboxService.append(OutboxService.INVENTORY_UPDATED, DomainChangeEvent.Type.INVENTORY, id, payload);
             
             logger.info("Inventory updated successfully with id: {}", id);
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, id));
             return inventoryMapper.toResponse(savedInventory);
             
         } catch (InventoryValidationException e) {
             logger.warn("Validation error updating inventory: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error updating inventory: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to update inventory", e);
         }
@@ -899,32 +1107,58 @@ public class InventoryService {
     /**
      * Delete inventory
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteInventory(Long id) {
+        transactionRetryExecutor.execute("Delete inventory", Isolation.DEFAULT, () -> {
+            deleteInventoryAttempt(id);
+            return null;
+        });
+    }
+
+    private void deleteInventoryAttempt(Long id) {
         try {
             logger.debug("Deleting inventory with id: {}", id);
             
-            Inventory inventory = inventoryRepository.findById(id)
+            Inventory inventory = lockBatch(id)
                     .orElseThrow(() -> new InventoryValidationException("Inventory not found with id: " + id));
             
             // Update product current stock only for IN movements
             if (inventory.getMovementType() == Inventory.MovementType.IN) {
-                Product product = inventory.getProduct();
-                product.setCurrentStock(product.getCurrentStock() - inventory.getQuantity());
-                productService.saveProduct(product);
+                productService.updateProductStock(inventory.getProduct().getId(), inventory.getQuantity(), false);
             }
             
+            Map<String, Object> payload = outboxPayload(inventory);
             inventoryRepository.delete(inventory);
+            productStockService.refresh(List.of(inventory.getProduct().getId()));
+            outboxService.append(OutboxService.INVENTORY_DELETED, DomainChangeEvent.Type.INVENTORY, id, payload);
             
             logger.info("Inventory deleted successfully with id: {}", id);
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, id));
             
         } catch (InventoryValidationException e) {
             throw e;
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error deleting inventory: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to delete inventory", e);
         }
     }
 
+    /**
+     * Load a movement for changing it. Its product is locked before the movement is read FOR UPDATE,
+     * the order lockSnapshot uses, so edits cannot deadlock against a sale of the same product.
+     */
+    private Optional<Inventory> lockBatch(Long inventoryId) {
+        Optional<Long> productId = inventoryRepository.findProductIdById(inventoryId);
+        if (productId.isEmpty()) {
+            return Optional.empty();
+        }
+        fifoAllocationService.lockProducts(List.of(productId.get()));
+        return inventoryRepository.findByIdForUpdate(inventoryId);
+    }
+
     /**
      * Validate inventory request
      */
@@ -945,8 +1179,13 @@ public class InventoryService {
     /**
      * Cleanup depleted inventories (utility method)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public int cleanupDepletedInventories() {
+        return transactionRetryExecutor.execute("Clean up depleted inventories", Isolation.DEFAULT,
+                this::cleanupDepletedInventoriesAttempt);
+    }
+
+    private int cleanupDepletedInventoriesAttempt() {
         try {
             logger.debug("Cleaning up depleted inventories");
             List<Inventory> depletedInventories = inventoryRepository.findDepletedInventories();
@@ -954,12 +1193,18 @@ public class InventoryService {
             
             if (count > 0) {
                 inventoryRepository.deleteDepletedInventories();
+                outboxService.append(OutboxService.INVENTORY_DEPLETED_CLEANED, DomainChangeEvent.Type.INVENTORY, null,
+                        Map.of("deletedRecords", count));
                 logger.info("Cleaned up {} depleted inventory records", count);
+                eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, null));
             }
             
             return count;
             
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error cleaning up depleted inventories: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to cleanup depleted inventories", e);
         }
@@ -972,7 +1217,7 @@ public class InventoryService {
     public List<InventoryResponse> getAllInventories() {
         try {
             logger.debug("Fetching all inventories");
-            List<Inventory> inventories = inventoryRepository.findAll();
+            List<Inventory> inventories = inventoryRepository.findAllWithProductAndSupplierOrderByDateDesc();
             return inventories.stream()
                     .map(inventoryMapper::toResponse)
                     .collect(Collectors.toList());
@@ -1023,8 +1268,7 @@ public class InventoryService {
     @Transactional(readOnly = true)
     public boolean hasAnyAvailableStock(Long productId) {
         try {
-            Integer stock = inventoryRepository.getTotalAvailableStockForProduct(productId);
-            return stock != null && stock > 0;
+            return productStockService.getAvailableQuantity(productId) > 0;
         } catch (Exception e) {
             logger.error("Error checking if product {} has available stock: {}", productId, e.getMessage(), e);
             return false;
@@ -1040,15 +1284,21 @@ public class InventoryService {
             Map<String, Object> status = new HashMap<>();
             
             Product product = productService.getProductEntityById(productId);
-            int totalAvailable = getTotalAvailableStock(productId);
+            ProductStock stock = productStockService.getStock(productId);
+            int totalAvailable = stock.getAvailableQuantity();
             int productStock = product.getCurrentStock();
             
             status.put("productId", productId);
             status.put("productName", product.getName());
             status.put("availableStock", totalAvailable);
+            status.put("onHandStock", stock.getOnHand());
+            status.put("reservedStock", stock.getReserved());
+            status.put("openBatchCount", stock.getOpenBatchCount());
+            status.put("oldestOpenBatchDate", stock.getOldestOpenBatchDate());
+            status.put("fifoCostValue", stock.getFifoCostValue());
             status.put("productStock", productStock);
             status.put("hasStock", totalAvailable > 0);
-            status.put("stockDiscrepancy", Math.abs(totalAvailable - productStock));
+            status.put("stockDiscrepancy", Math.abs(stock.getOnHand() - productStock));
             
             // Low stock check
             if (product.getLowStockThreshold() != null) {
@@ -0,0 +1,244 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.example.inventorymanagementbackend.dto.response.MarginLineResponse;
+import org.example.inventorymanagementbackend.dto.response.MarginReportResponse;
+import org.example.inventorymanagementbackend.repository.SaleItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Margin Report Service
+ * FIFO cost-of-goods and gross margin per product, customer and period, computed in one pass
+ * over the batch slices recorded on sale items (quantity x inventoryUnitPrice). The date range is
+ * split into chunks that a bounded number of workers stream in parallel, each in its own
+ * read-only transaction; partial results are merged at the end.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MarginReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarginReportService.class);
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    public enum Period {
+        DAY, MONTH
+    }
+
+    @Autowired
+    private SaleItemRepository saleItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
+    @Value("${app.reports.margin-chunk-days:31}")
+    private int chunkDays;
+
+    @Value("${app.reports.margin-parallelism:4}")
+    private int parallelism;
+
+    /**
+     * Gross margin report for the days in [from, to]
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MarginReportResponse getMarginReport(LocalDate from, LocalDate to, Period period) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Report range must have from <= to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Report range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        int daysPerChunk = Math.max(chunkDays, 1);
+        List<LocalDate[]> chunks = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(daysPerChunk)) {
+            LocalDate end = start.plusDays(daysPerChunk - 1L);
+            chunks.add(new LocalDate[] { start, end.isAfter(to) ? to : end });
+        }
+
+        Queue<LocalDate[]> pending = new ConcurrentLinkedQueue<>(chunks);
+        int workers = Math.max(1, Math.min(parallelism, chunks.size()));
+        List<CompletableFuture<MarginAccumulator>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> drain(pending, period), taskExecutor));
+        }
+
+        MarginAccumulator total = new MarginAccumulator(period);
+        try {
+            for (CompletableFuture<MarginAccumulator> future : futures) {
+                total.merge(future.join());
+            }
+        } catch (CompletionException e) {
+            pending.clear();
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        logger.debug("Margin report {} to {}: {} rows in {} chunks on {} workers",
+                from, to, total.rows, chunks.size(), workers);
+        return total.toResponse(from, to, chunks.size());
+    }
+
+    /**
+     * Worker loop: take chunks until none are left, streaming each in a read-only transaction
+     */
+    private MarginAccumulator drain(Queue<LocalDate[]> pending, Period period) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        MarginAccumulator accumulator = new MarginAccumulator(period);
+        LocalDate[] chunk;
+        while ((chunk = pending.poll()) != null) {
+            LocalDateTime startDate = chunk[0].atStartOfDay();
+            LocalDateTime endDate = chunk[1].plusDays(1).atStartOfDay();
+            try {
+                template.executeWithoutResult(status -> {
+                    try (Stream<Object[]> rows = saleItemRepository.streamMarginRowsBetween(startDate, endDate)) {
+                        rows.forEach(accumulator::add);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Stop the other workers from starting new chunks
+                pending.clear();
+                throw e;
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * Running totals keyed by product, customer and period; one per worker, merged at the end
+     */
+    private static final class MarginAccumulator {
+        private final Period period;
+        private final Map<String, Totals> byProduct = new HashMap<>();
+        private final Map<String, Totals> byCustomer = new HashMap<>();
+        private final Map<String, Totals> byPeriod = new HashMap<>();
+        private final Totals total = new Totals("total", "Total");
+        private long rows;
+
+        private MarginAccumulator(Period period) {
+            this.period = period;
+        }
+
+        private void add(Object[] row) {
+            LocalDateTime saleDate = (LocalDateTime) row[5];
+            long quantity = ((Number) row[6]).longValue();
+            BigDecimal revenue = (BigDecimal) row[7];
+            BigDecimal unitCost = (BigDecimal) row[8];
+            BigDecimal cost = unitCost != null ? unitCost.multiply(BigDecimal.valueOf(quantity)) : null;
+
+            String periodKey = period == Period.DAY
+                    ? saleDate.toLocalDate().toString()
+                    : YearMonth.from(saleDate).toString();
+
+            byProduct.computeIfAbsent(String.valueOf(row[0]), key -> new Totals(key, row[1] + " - " + row[2]))
+                    .add(quantity, revenue, cost);
+            byCustomer.computeIfAbsent(String.valueOf(row[3]), key -> new Totals(key, (String) row[4]))
+                    .add(quantity, revenue, cost);
+            byPeriod.computeIfAbsent(periodKey, key -> new Totals(key, key))
+                    .add(quantity, revenue, cost);
+            total.add(quantity, revenue, cost);
+            rows++;
+        }
+
+        private void merge(MarginAccumulator other) {
+            other.byProduct.forEach((key, totals) -> byProduct.merge(key, totals, Totals::merge));
+            other.byCustomer.forEach((key, totals) -> byCustomer.merge(key, totals, Totals::merge));
+            other.byPeriod.forEach((key, totals) -> byPeriod.merge(key, totals, Totals::merge));
+            total.merge(other.total);
+            rows += other.rows;
+        }
+
+        private MarginReportResponse toResponse(LocalDate from, LocalDate to, int chunks) {
+            Comparator<MarginLineResponse> byMarginDesc =
+                    Comparator.comparing(MarginLineResponse::getGrossMargin).reversed();
+            return new MarginReportResponse(from, to, period.name(), total.toLine(),
+                    sortedLines(byProduct, byMarginDesc),
+                    sortedLines(byCustomer, byMarginDesc),
+                    sortedLines(byPeriod, Comparator.comparing(MarginLineResponse::getKey)),
+                    chunks, rows);
+        }
+
+        private static List<MarginLineResponse> sortedLines(Map<String, Totals> totals,
+                                                            Comparator<MarginLineResponse> order) {
+            return totals.values().stream()
+                    .map(Totals::toLine)
+                    .sorted(order)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static final class Totals {
+        private final String key;
+        private final String label;
+        private long quantity;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal cogs = BigDecimal.ZERO;
+        private long unpricedQuantity;
+        private BigDecimal unpricedRevenue = BigDecimal.ZERO;
+
+        private Totals(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        private void add(long sliceQuantity, BigDecimal sliceRevenue, BigDecimal sliceCost) {
+            if (sliceCost == null) {
+                unpricedQuantity += sliceQuantity;
+                unpricedRevenue = unpricedRevenue.add(sliceRevenue);
+                return;
+            }
+            quantity += sliceQuantity;
+            revenue = revenue.add(sliceRevenue);
+            cogs = cogs.add(sliceCost);
+        }
+
+        private Totals merge(Totals other) {
+            quantity += other.quantity;
+            revenue = revenue.add(other.revenue);
+            cogs = cogs.add(other.cogs);
+            unpricedQuantity += other.unpricedQuantity;
+            unpricedRevenue = unpricedRevenue.add(other.unpricedRevenue);
+            return this;
+        }
+
+        private MarginLineResponse toLine() {
+            BigDecimal margin = revenue.subtract(cogs);
+            BigDecimal percent = revenue.signum() == 0
+                    ? BigDecimal.ZERO
+                    : margin.multiply(BigDecimal.valueOf(100)).divide(revenue, 2, RoundingMode.HALF_UP);
+            return new MarginLineResponse(key, label, quantity, revenue, cogs, margin, percent,
+                    unpricedQuantity, unpricedRevenue);
+        }
+    }
+}
@@ -7,11 +7,13 @@ import java.util.stream.Collectors;
 import org.example.inventorymanagementbackend.dto.request.ProductRequest;
 import org.example.inventorymanagementbackend.dto.response.ProductResponse;
 import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
 import org.example.inventorymanagementbackend.mapper.ProductMapper;
 import org.example.inventorymanagementbackend.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,9 @@ public class ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -126,6 +131,7 @@ public ProductResponse createProduct(ProductRequest request) {
     Product savedProduct = productRepository.save(product);
     logger.info("Product created successfully with id: {} and code: {}, initial stock: {}, threshold: {}",
             savedProduct.getId(), savedProduct.getCode(), savedProduct.getCurrentStock(), savedProduct.getLowStockThreshold());
+    eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, savedProduct.getId()));
 
     return productMapper.toResponse(savedProduct);
 }
@@ -165,6 +171,7 @@ public ProductResponse updateProduct(Long id, ProductRequest request) {
     Product savedProduct = productRepository.save(existingProduct);
     logger.info("Product updated successfully with id: {}, new stock: {}", 
             savedProduct.getId(), savedProduct.getCurrentStock());
+    eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, savedProduct.getId()));
 
     return productMapper.toResponse(savedProduct);
 }
@@ -184,6 +191,7 @@ public ProductResponse updateProduct(Long id, ProductRequest request) {
         productRepository.save(product);
 
         logger.info("Product deleted successfully with id: {}", id);
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, id));
     }
 
     /**
@@ -193,15 +201,25 @@ public ProductResponse updateProduct(Long id, ProductRequest request) {
         logger.debug("Updating stock for product id: {}, quantity: {}, addition: {}",
                 productId, quantity, isAddition);
 
-        Product product = productRepository.findById(productId)
-                .filter(p -> p.getIsActive())
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+        if (quantity == null || quantity < 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
 
-        product.updateStock(quantity, isAddition);
-        productRepository.save(product);
+        // Single conditional UPDATE: the stock check and the change happen in one statement
+        int updated = isAddition
+                ? productRepository.incrementStock(productId, quantity)
+                : productRepository.decrementStockIfAvailable(productId, quantity);
+
+        if (updated == 0) {
+            productRepository.findById(productId)
+                    .filter(p -> p.getIsActive())
+                    .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+            throw new IllegalArgumentException("Insufficient stock");
+        }
 
-        logger.info("Stock updated for product id: {}, new stock: {}",
-                productId, product.getCurrentStock());
+        logger.info("Stock updated for product id: {}, {} {}",
+                productId, isAddition ? "added" : "removed", quantity);
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, productId));
     }
 
     /**
@@ -235,6 +253,7 @@ public ProductResponse updateProduct(Long id, ProductRequest request) {
         Product savedProduct = productRepository.save(product);
         logger.debug("Product saved successfully with id: {}, current stock: {}", 
                 savedProduct.getId(), savedProduct.getCurrentStock());
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, savedProduct.getId()));
         return savedProduct;
     }
 
@@ -275,6 +294,7 @@ public ProductResponse updateProduct(Long id, ProductRequest request) {
         
         productRepository.save(product);
         logger.debug("Current stock updated for product id: {}, new stock: {}", productId, newStock);
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, productId));
     }
     /**
  * Update only product stock without other fields (optimized for performance)
@@ -285,5 +305,6 @@ public void updateProductStockOnly(Long productId, Integer newStock) {
     // Use a direct query for better performance
     productRepository.updateProductStockOnly(productId, newStock);
     logger.debug("Stock only updated for product id: {}", productId);
+    eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.PRODUCT, productId));
 }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.example.inventorymanagementbackend.entity.Inventory;
+import org.example.inventorymanagementbackend.entity.ProductStock;
+import org.example.inventorymanagementbackend.repository.InventoryRepository;
+import org.example.inventorymanagementbackend.repository.ProductStockRepository;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Product Stock Service
+ * Maintains the per-product stock projection. Every writer that changes FIFO batches
+ * refreshes the touched products before committing, while holding their product locks,
+ * so the projection never drifts from the batches it summarises.
+ */
+@Service
+@Transactional
+public class ProductStockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockService.class);
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    /**
+     * Recompute the projection of the given products from their open batches.
+     * Batches are read FOR UPDATE so the latest committed quantities are used; callers
+     * lock the products first (directly or through a conditional stock update).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> orderedIds = new ArrayList<>(new TreeSet<>(productIds));
+        rebuild(orderedIds, inventoryRepository.findAvailableStockForProductsFIFOForUpdate(orderedIds));
+    }
+
+    /**
+     * Recompute the projection from a locked snapshot after its batches were allocated in memory.
+     * The snapshot already holds every open batch of its products, so no query is needed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(StockSnapshot snapshot) {
+        List<Long> productIds = new ArrayList<>();
+        List<Inventory> batches = new ArrayList<>();
+        snapshot.getProducts().forEach(product -> {
+            productIds.add(product.getId());
+            batches.addAll(snapshot.getBatches(product.getId()));
+        });
+        rebuild(productIds, batches);
+    }
+
+    /**
+     * Projection row for a product, or an empty one if the product has no stock history
+     */
+    @Transactional(readOnly = true)
+    public ProductStock getStock(Long productId) {
+        return productStockRepository.findById(productId)
+                .orElseGet(() -> new ProductStock(productId));
+    }
+
+    /**
+     * Units that can still be sold for one product (primary-key lookup)
+     */
+    @Transactional(readOnly = true)
+    public int getAvailableQuantity(Long productId) {
+        return productStockRepository.findById(productId)
+                .map(ProductStock::getAvailableQuantity)
+                .orElse(0);
+    }
+
+    /**
+     * Units that can still be sold per product; products without a row map to 0
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getAvailableQuantities(Collection<Long> productIds) {
+        Map<Long, Integer> available = new HashMap<>();
+        productIds.forEach(id -> available.put(id, 0));
+        for (ProductStock stock : productStockRepository.findAllById(productIds)) {
+            available.put(stock.getProductId(), stock.getAvailableQuantity());
+        }
+        return available;
+    }
+
+    /**
+     * Aggregate row: [productsWithStock, fifoCostValue, lowStockProducts, openBatchCount]
+     */
+    @Transactional(readOnly = true)
+    public Object[] getStockSummary() {
+        return productStockRepository.getStockSummary().get(0);
+    }
+
+    /**
+     * Build projection rows for products that have none yet (e.g. existing data before this table)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingRows() {
+        List<Long> missing = productStockRepository.findProductIdsWithoutStock();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        for (int start = 0; start < missing.size(); start += BACKFILL_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(start, Math.min(start + BACKFILL_CHUNK_SIZE, missing.size()));
+            rebuild(chunk, inventoryRepository.findAvailableStockForProductsFIFO(chunk));
+        }
+        logger.info("Built stock projection rows for {} products", missing.size());
+    }
+
+    private void rebuild(List<Long> productIds, List<Inventory> openBatches) {
+        Map<Long, ProductStock> rows = new HashMap<>();
+        for (ProductStock stock : productStockRepository.findAllById(productIds)) {
+            rows.put(stock.getProductId(), stock);
+        }
+
+        Map<Long, List<Inventory>> batchesByProduct = new HashMap<>();
+        for (Inventory batch : openBatches) {
+            batchesByProduct.computeIfAbsent(batch.getProduct().getId(), id -> new ArrayList<>()).add(batch);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductStock> changed = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductStock stock = rows.computeIfAbsent(productId, ProductStock::new);
+
+            int onHand = 0;
+            int openBatchCount = 0;
+            LocalDateTime oldest = null;
+            BigDecimal costValue = BigDecimal.ZERO;
+
+            for (Inventory batch : batchesByProduct.getOrDefault(productId, List.of())) {
+                // Batches emptied by this transaction are still in the snapshot
+                if (!batch.isStockIn() || !batch.hasAvailableStock()) {
+                    continue;
+                }
+                onHand += batch.getQuantity();
+                openBatchCount++;
+                if (oldest == null || batch.getDate().isBefore(oldest)) {
+                    oldest = batch.getDate();
+                }
+                costValue = costValue.add(batch.getTotalValue());
+            }
+
+            stock.setOnHand(onHand);
+            stock.setOpenBatchCount(openBatchCount);
+            stock.setOldestOpenBatchDate(oldest);
+            stock.setFifoCostValue(costValue);
+            stock.setUpdatedAt(now);
+            changed.add(stock);
+        }
+
+        productStockRepository.saveAll(changed);
+        logger.debug("Refreshed stock projection for products {}", productIds);
+    }
+}
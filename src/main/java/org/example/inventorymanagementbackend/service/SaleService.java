@@ -1,16 +1,32 @@
 package org.example.inventorymanagementbackend.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
 import org.example.inventorymanagementbackend.dto.request.SaleRequest;
+import org.example.inventorymanagementbackend.dto.response.BulkSaleResponse;
+import org.example.inventorymanagementbackend.dto.response.BulkSaleResultResponse;
+import org.example.inventorymanagementbackend.dto.response.SalePageResponse;
 import org.example.inventorymanagementbackend.dto.response.SaleResponse;
 import org.example.inventorymanagementbackend.entity.Customer;
 import org.example.inventorymanagementbackend.entity.Inventory;
@@ -18,23 +34,48 @@ import org.example.inventorymanagementbackend.entity.Product;
 import org.example.inventorymanagementbackend.entity.Sale;
 import org.example.inventorymanagementbackend.entity.Sale.PaymentMethod;
 import org.example.inventorymanagementbackend.entity.SaleItem;
+import org.example.inventorymanagementbackend.entity.StockReservation;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
+import org.example.inventorymanagementbackend.mapper.SaleItemMapper;
 import org.example.inventorymanagementbackend.mapper.SaleMapper;
+import org.example.inventorymanagementbackend.metrics.OperationMetrics;
+import org.example.inventorymanagementbackend.outbox.OutboxService;
 import org.example.inventorymanagementbackend.repository.InventoryRepository;
 import org.example.inventorymanagementbackend.repository.SaleItemRepository;
 import org.example.inventorymanagementbackend.repository.SaleRepository;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.AllocationPlan;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.BatchSlice;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.LineAllocation;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
 @Service
 @Transactional
 public class SaleService {
 
     private static final Logger logger = LoggerFactory.getLogger(SaleService.class);
+    // One key=value line per committed sale; kept at INFO in every profile
+    private static final Logger auditLogger = LoggerFactory.getLogger("audit.sale");
     private static final int MAX_QUANTITY_PER_ITEM = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private SaleRepository saleRepository;
@@ -48,6 +89,9 @@ public class SaleService {
     @Autowired
     private SaleMapper saleMapper;
 
+    @Autowired
+    private SaleItemMapper saleItemMapper;
+
     @Autowired
     private CustomerService customerService;
 
@@ -57,6 +101,39 @@ public class SaleService {
     @Autowired
     private InventoryService inventoryService;
 
+    @Autowired
+    private FifoAllocationService fifoAllocationService;
+
+    @Autowired
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Value("${app.sales.bulk-chunk-size:200}")
+    private int bulkChunkSize;
+
+    @Value("${app.sales.bulk-max-sales:5000}")
+    private int bulkMaxSales;
+
     // Custom Exceptions
     public static class ValidationException extends RuntimeException {
         public ValidationException(String message) {
@@ -81,10 +158,7 @@ public class SaleService {
     public List<SaleResponse> getAllSales() {
         try {
             logger.debug("Fetching all sales");
-            List<Sale> sales = saleRepository.findAllOrderBySaleDateDesc();
-            return sales.stream()
-                    .map(saleMapper::toResponse)
-                    .collect(Collectors.toList());
+            return toResponses(saleRepository.findAllWithItemsOrderBySaleDateDesc());
         } catch (Exception e) {
             logger.error("Error fetching all sales: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to retrieve sales", e);
@@ -95,9 +169,9 @@ public class SaleService {
     public SaleResponse getSaleById(Long id) {
         try {
             logger.debug("Fetching sale with id: {}", id);
-            Sale sale = saleRepository.findById(id)
+            Sale sale = saleRepository.findByIdWithItems(id)
                     .orElseThrow(() -> new ValidationException("Sale not found with id: " + id));
-            return saleMapper.toResponse(sale);
+            return toResponses(List.of(sale)).get(0);
         } catch (ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -110,10 +184,7 @@ public class SaleService {
     public List<SaleResponse> getUnpaidSales() {
         try {
             logger.debug("Fetching unpaid sales");
-            List<Sale> sales = saleRepository.findByIsPaidOrderBySaleDateDesc(false);
-            return sales.stream()
-                    .map(saleMapper::toResponse)
-                    .collect(Collectors.toList());
+            return toResponses(saleRepository.findByIsPaidWithItemsOrderBySaleDateDesc(false));
         } catch (Exception e) {
             logger.error("Error fetching unpaid sales: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to retrieve unpaid sales", e);
@@ -125,10 +196,7 @@ public class SaleService {
         try {
             logger.debug("Fetching sales for customer id: {}", customerId);
             Customer customer = customerService.getCustomerEntityById(customerId);
-            List<Sale> sales = saleRepository.findByCustomerOrderBySaleDateDesc(customer);
-            return sales.stream()
-                    .map(saleMapper::toResponse)
-                    .collect(Collectors.toList());
+            return toResponses(saleRepository.findByCustomerIdWithItemsOrderBySaleDateDesc(customer.getId()));
         } catch (Exception e) {
             logger.error("Error fetching sales for customer id {}: {}", customerId, e.getMessage(), e);
             throw new SaleProcessingException("Failed to retrieve customer sales", e);
@@ -136,35 +204,129 @@ public class SaleService {
     }
 
     /**
-     * Check stock availability for all items in a sale request - ENHANCED VERSION
+     * Keyset page of sales ordered by (saleDate, id) descending, with optional filters.
+     * Costs two queries per page however large the sales table grows.
+     */
+    @Transactional(readOnly = true)
+    public SalePageResponse getSalesPage(Long customerId, Sale.PaymentMethod paymentMethod, Boolean isPaid,
+                                         String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(e.getMessage());
+        }
+
+        // Fetch one extra id to know whether another page exists
+        List<Long> ids = saleRepository.findIdPageWithFilters(customerId, paymentMethod, isPaid,
+                after != null ? after.getTimestamp() : null, after != null ? after.getId() : null,
+                Limit.of(pageSize + 1));
+        boolean hasMore = ids.size() > pageSize;
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        List<SaleResponse> items = ids.isEmpty()
+                ? new ArrayList<>()
+                : toResponses(saleRepository.findAllByIdWithItems(ids));
+
+        String nextCursor = null;
+        if (hasMore) {
+            SaleResponse last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getSaleDate(), last.getId()).encode();
+        }
+
+        return new SalePageResponse(items, nextCursor, hasMore, pageSize);
+    }
+
+    /**
+     * Write matching sales as NDJSON (one SaleResponse per line), newest first.
+     * Sales are read from a JPA stream; items are fetched per chunk and the persistence
+     * context is cleared after each chunk so memory stays flat for any table size.
+     */
+    @Transactional(readOnly = true)
+    public int exportSales(Long customerId, Sale.PaymentMethod paymentMethod, Boolean isPaid,
+                           OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        int exported = 0;
+
+        try (Stream<Sale> sales = saleRepository.streamWithFilters(customerId, paymentMethod, isPaid)) {
+            List<Sale> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Sale> iterator = sales.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    exported += writeExportChunk(chunk, writer);
+                    chunk.clear();
+                }
+            }
+        }
+
+        writer.flush();
+        logger.info("Exported {} sales", exported);
+        return exported;
+    }
+
+    private int writeExportChunk(List<Sale> chunk, Writer writer) throws IOException {
+        // Initializes the items of the already loaded sales in one query
+        saleRepository.findAllByIdWithItems(chunk.stream().map(Sale::getId).collect(Collectors.toList()));
+
+        for (SaleResponse response : toResponses(chunk)) {
+            writer.write(objectMapper.writeValueAsString(response));
+            writer.write('\n');
+        }
+        writer.flush();
+
+        entityManager.clear();
+        return chunk.size();
+    }
+
+    /**
+     * Map sales loaded with their items, then fill legacy batch details with one query for the whole list
+     */
+    private List<SaleResponse> toResponses(List<Sale> sales) {
+        List<SaleResponse> responses = sales.stream()
+                .map(saleMapper::toResponse)
+                .collect(Collectors.toList());
+
+        saleItemMapper.fillMissingInventoryDetails(responses.stream()
+                .filter(response -> response.getSaleItems() != null)
+                .flatMap(response -> response.getSaleItems().stream())
+                .collect(Collectors.toList()));
+        return responses;
+    }
+
+    /**
+     * Check stock availability for all items in a sale request.
+     * Each product is one primary-key lookup on the stock projection; nothing is locked.
      */
     @Transactional(readOnly = true)
     public boolean checkStockAvailabilityForSale(SaleRequest request) {
         try {
             logger.debug("Checking stock availability for sale with {} items", request.getSaleItems().size());
-            
-            // Group by product ID to handle multiple items of same product
-            Map<Long, Integer> requiredQuantities = request.getSaleItems().stream()
-                    .collect(Collectors.groupingBy(
-                            SaleItemRequest::getProductId,
-                            Collectors.summingInt(SaleItemRequest::getQuantity)
-                    ));
-
-            for (Map.Entry<Long, Integer> entry : requiredQuantities.entrySet()) {
-                Long productId = entry.getKey();
-                Integer totalRequired = entry.getValue();
-                
-                int available = inventoryService.getTotalAvailableStock(productId);
-                logger.debug("Stock check - Product {}: Required={}, Available={}", productId, totalRequired, available);
-                
-                if (available < totalRequired) {
-                    Product product = productService.getProductEntityById(productId);
-                    logger.warn("Insufficient stock for product {}: Required={}, Available={}", 
-                        product.getName(), totalRequired, available);
+
+            Map<Long, Integer> requiredByProduct = new HashMap<>();
+            for (SaleItemRequest item : request.getSaleItems()) {
+                requiredByProduct.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+
+            Map<Long, Integer> available = productStockService.getAvailableQuantities(requiredByProduct.keySet());
+            for (Map.Entry<Long, Integer> entry : requiredByProduct.entrySet()) {
+                Product product = productService.getProductEntityById(entry.getKey());
+                int required = entry.getValue();
+
+                if (available.get(entry.getKey()) < required || product.getCurrentStock() < required) {
+                    logger.warn("Stock check failed for product {}: required {}, available {}, product stock {}",
+                        entry.getKey(), required, available.get(entry.getKey()), product.getCurrentStock());
                     return false;
                 }
             }
-            
+
             logger.debug("Stock availability check passed for all products");
             return true;
         } catch (Exception e) {
@@ -174,49 +336,88 @@ public class SaleService {
     }
 
     /**
-     * Create sale with FIFO inventory management - ENHANCED WITH STRICT STOCK VALIDATION
+     * Create sale with FIFO inventory management.
+     * Products and open batches are loaded once, the whole sale is planned in memory
+     * and the sale with all its items is persisted in a single save.
      */
-    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SaleResponse createSaleWithFIFO(SaleRequest request) {
+        SaleResponse sale = operationMetrics.time(OperationMetrics.SALE_CREATE, () ->
+                transactionRetryExecutor.execute("Create sale", Isolation.READ_COMMITTED,
+                        () -> createSaleWithFIFOAttempt(request)));
+
+        // Written once after commit, so retried attempts never produce duplicate audit lines
+        if (auditLogger.isInfoEnabled()) {
+            auditLogger.info("event=sale.created saleId={} customerId={} items={} total={} paymentMethod={} paid={}",
+                    sale.getId(), sale.getCustomerId(), sale.getSaleItems() != null ? sale.getSaleItems().size() : 0,
+                    sale.getTotalAmount(), sale.getPaymentMethod(), sale.getPaid());
+        }
+        return sale;
+    }
+
+    /**
+     * One attempt at creating a sale; re-run from scratch by the retry executor on a version conflict
+     */
+    private SaleResponse createSaleWithFIFOAttempt(SaleRequest request) {
         try {
             logger.debug("Creating sale with FIFO for customer: {}", request.getCustomerId());
-            logger.debug("Received sale request with {} items", request.getSaleItems().size());
+            long phaseStart = System.nanoTime();
 
             // STEP 1: Basic validation
             validateSaleRequest(request);
 
-            // STEP 2: PRE-VALIDATE STOCK BEFORE ANY PROCESSING
-            preValidateStockBeforeProcessing(request.getSaleItems());
-
             Customer customer = customerService.getCustomerEntityById(request.getCustomerId());
+            operationMetrics.recordSalePhase("validation", phaseStart);
+            phaseStart = System.nanoTime();
+
+            // STEP 2: Lock products (ascending id) and their open FIFO batches for every product on the sale,
+            // together with the products held by the reservation it converts
+            Set<Long> productIds = collectProductIds(request.getSaleItems());
+            if (request.getReservationId() != null) {
+                productIds.addAll(stockReservationService.getProductIds(request.getReservationId()));
+            }
+            StockSnapshot snapshot = fifoAllocationService.lockSnapshot(productIds);
+            if (request.getReservationId() != null) {
+                stockReservationService.convert(request.getReservationId(), snapshot);
+            }
 
-            // STEP 3: STRICT stock availability validation (batch operation)
-            validateStockAvailability(request.getSaleItems());
+            // STEP 3: Plan the whole allocation and reject the sale before anything is written
+            AllocationPlan plan = fifoAllocationService.plan(snapshot, request.getSaleItems());
+            ensurePlanFulfilled(plan);
 
             // STEP 4: Calculate total amount
             BigDecimal totalAmount = calculateTotalAmount(request.getSaleItems());
 
-            // STEP 5: Create and save sale entity FIRST
+            // STEP 5: Build sale with all items from the plan
             Sale sale = createSaleEntity(customer, request, totalAmount);
-            Sale savedSale = saleRepository.save(sale);
-
-            logger.debug("Sale entity saved with id: {}, now processing items with stock locks", savedSale.getId());
+            for (LineAllocation line : plan.getLines()) {
+                processSingleSaleItemWithFIFO(sale, line);
+            }
+            operationMetrics.recordSalePhase("allocation", phaseStart);
+            phaseStart = System.nanoTime();
 
-            // STEP 6: Process sale items with additional stock protection
-            processSaleItemsWithStockProtection(savedSale, request.getSaleItems());
+            // STEP 6: Reduce product stock once per product with a conditional atomic update
+            for (Map.Entry<Long, Integer> entry : plan.getQuantityByProduct().entrySet()) {
+                productService.updateProductStock(entry.getKey(), entry.getValue(), false);
+            }
+            productStockService.refresh(snapshot);
 
             // STEP 7: Update customer balance for unpaid sales
-            if (!savedSale.getIsPaid()) {
+            if (!sale.getIsPaid()) {
                 updateCustomerBalance(customer, totalAmount);
             }
 
-            // STEP 8: Final save to persist all relationships
-            savedSale = saleRepository.save(savedSale);
-            
-            // STEP 9: Verify final stock levels are not negative
-            verifyNoNegativeStock(request.getSaleItems());
-            
-            logger.info("Sale created successfully with id: {}, total: {}", savedSale.getId(), savedSale.getTotalAmount());
+            // STEP 8: Persist sale and items together; batch and product changes flush with it
+            Sale savedSale = saleRepository.save(sale);
+            salesRollupService.add(List.of(savedSale));
+            // Statements still pending at commit are part of the overall sales.create time
+            operationMetrics.recordSalePhase("persistence", phaseStart);
+
+            outboxService.append(OutboxService.SALE_CREATED, DomainChangeEvent.Type.SALE, savedSale.getId(),
+                    outboxPayload(savedSale, true));
+
+            logger.debug("Sale created successfully with id: {}, total: {}", savedSale.getId(), savedSale.getTotalAmount());
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SALE, savedSale.getId()));
 
             return saleMapper.toResponse(savedSale);
 
@@ -224,34 +425,249 @@ public class SaleService {
             logger.warn("Business logic error creating sale: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
+            // Lock conflicts go back to the retry executor as they are
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Unexpected error creating sale: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to create sale", e);
         }
     }
 
     /**
-     * PRE-VALIDATE STOCK BEFORE ANY PROCESSING
+     * Create many sales at once (e.g. back-loaded from offline branches).
+     * Sales are processed in chunks, each in its own transaction: every product in the chunk
+     * is locked once, sales are allocated in request order against the shared FIFO batches,
+     * and all sales and items are written with JDBC batching. A sale that carries a reservationId
+     * converts that reservation like a single sale does. Results are reported per sale.
      */
-    private void preValidateStockBeforeProcessing(List<SaleItemRequest> saleItems) {
-        logger.debug("Pre-validating stock availability before sale processing");
-        
-        for (SaleItemRequest item : saleItems) {
-            Product product = productService.getProductEntityById(item.getProductId());
-            int available = inventoryService.getTotalAvailableStock(item.getProductId());
-            
-            if (available < item.getQuantity()) {
-                throw new InsufficientStockException(
-                    String.format("Cannot create sale: Product '%s' has insufficient stock. Required: %d, Available: %d", 
-                        product.getName(), item.getQuantity(), available));
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BulkSaleResponse createSalesInBatch(List<SaleRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ValidationException("Bulk request must contain at least one sale");
+        }
+        if (requests.size() > bulkMaxSales) {
+            throw new ValidationException("Bulk request cannot exceed " + bulkMaxSales + " sales");
+        }
+
+        logger.info("Importing {} sales in chunks of {}", requests.size(), bulkChunkSize);
+
+        List<BulkSaleResultResponse> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += bulkChunkSize) {
+            int offset = start;
+            int end = Math.min(start + bulkChunkSize, requests.size());
+            List<SaleRequest> chunk = requests.subList(start, end);
+
+            try {
+                results.addAll(transactionRetryExecutor.execute("Bulk sale import", Isolation.READ_COMMITTED,
+                        () -> createSaleChunk(chunk, offset)));
+            } catch (Exception e) {
+                // Only infrastructure failures reach here; the whole chunk was rolled back
+                logger.error("Bulk sale chunk {}-{} failed: {}", offset, end - 1, e.getMessage(), e);
+                for (int i = offset; i < end; i++) {
+                    results.add(BulkSaleResultResponse.failed(i, "Chunk rolled back: " + e.getMessage()));
+                }
             }
-            
-            // Additional check for product current stock
-            if (product.getCurrentStock() < item.getQuantity()) {
-                throw new InsufficientStockException(
-                    String.format("Cannot create sale: Product '%s' current stock is insufficient. Required: %d, Product Stock: %d", 
-                        product.getName(), item.getQuantity(), product.getCurrentStock()));
+        }
+
+        int succeeded = (int) results.stream().filter(BulkSaleResultResponse::getSuccess).count();
+        logger.info("Bulk sale import finished: {} created, {} failed", succeeded, requests.size() - succeeded);
+
+        return new BulkSaleResponse(requests.size(), succeeded, requests.size() - succeeded, results);
+    }
+
+    /**
+     * Create one chunk of a bulk import inside the current transaction.
+     * Invalid or under-stocked sales are skipped and reported; the rest are persisted together.
+     */
+    private List<BulkSaleResultResponse> createSaleChunk(List<SaleRequest> chunk, int offset) {
+        BulkSaleResultResponse[] results = new BulkSaleResultResponse[chunk.size()];
+        BigDecimal[] totals = new BigDecimal[chunk.size()];
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> customerIds = new HashSet<>();
+        Set<String> reservationIds = new HashSet<>();
+
+        // STEP 1: Validate every sale in memory
+        for (int i = 0; i < chunk.size(); i++) {
+            SaleRequest request = chunk.get(i);
+            try {
+                validateSaleRequest(request);
+                if (request.getCustomerId() == null) {
+                    throw new ValidationException("Customer ID is required");
+                }
+                totals[i] = calculateTotalAmount(request.getSaleItems());
+                productIds.addAll(collectProductIds(request.getSaleItems()));
+                customerIds.add(request.getCustomerId());
+                if (request.getReservationId() != null) {
+                    reservationIds.add(request.getReservationId());
+                }
+            } catch (ValidationException e) {
+                results[i] = BulkSaleResultResponse.failed(offset + i, e.getMessage());
             }
         }
+
+        // STEP 2: Load customers and lock products once for the whole chunk, including those held
+        // by reservations the sales convert; holds are read after locking
+        Map<Long, Customer> customers = customerService.getCustomerEntitiesByIds(customerIds);
+        for (String reservationId : reservationIds) {
+            productIds.addAll(stockReservationService.getProductIds(reservationId));
+        }
+        StockSnapshot snapshot = fifoAllocationService.lockSnapshot(productIds);
+        Map<String, List<StockReservation>> holdsByReservation = reservationIds.isEmpty()
+                ? new HashMap<>() : stockReservationService.getActiveHolds(reservationIds);
+
+        // STEP 3: Allocate sales in request order against the shared batches
+        List<Sale> sales = new ArrayList<>();
+        List<Integer> saleIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+
+            SaleRequest request = chunk.get(i);
+            Customer customer = customers.get(request.getCustomerId());
+            if (customer == null) {
+                results[i] = BulkSaleResultResponse.failed(offset + i, "Customer not found with id: " + request.getCustomerId());
+                continue;
+            }
+
+            Sale sale = createSaleEntity(customer, request, totals[i]);
+            if (request.getSaleDate() != null) {
+                sale.setSaleDate(request.getSaleDate());
+            }
+
+            // Check the same rule the entity enforces on persist, so one bad check cannot fail the chunk
+            try {
+                sale.validateCheckPayment();
+            } catch (IllegalStateException e) {
+                results[i] = BulkSaleResultResponse.failed(offset + i, e.getMessage());
+                continue;
+            }
+
+            // The sale may take the units its own reservation holds; an expired, unknown or already
+            // converted reservation is ignored, as for a single sale
+            List<StockReservation> holds = request.getReservationId() != null
+                    ? holdsByReservation.remove(request.getReservationId()) : null;
+            Map<Long, Integer> reservedBefore = holds != null ? releaseHoldsInSnapshot(snapshot, holds) : Map.of();
+
+            AllocationPlan plan = fifoAllocationService.plan(snapshot, request.getSaleItems());
+            if (!plan.isFulfilled()) {
+                // The sale is skipped, so its reservation keeps holding the units
+                if (holds != null) {
+                    reservedBefore.forEach(snapshot::setReservedQuantity);
+                    holdsByReservation.put(request.getReservationId(), holds);
+                }
+                String error = !plan.getMissingProductIds().isEmpty()
+                        ? "Product not found with id: " + plan.getMissingProductIds().get(0)
+                        : String.join("; ", plan.getShortfalls());
+                results[i] = BulkSaleResultResponse.failed(offset + i, error);
+                continue;
+            }
+            if (holds != null) {
+                stockReservationService.convertHolds(holds);
+            }
+
+            for (LineAllocation line : plan.getLines()) {
+                processSingleSaleItemWithFIFO(sale, line);
+            }
+            snapshot.recordAllocation(plan);
+
+            if (!sale.getIsPaid()) {
+                customer.addToOutstandingBalance(totals[i]);
+            }
+
+            sales.add(sale);
+            saleIndexes.add(i);
+        }
+
+        // STEP 4: One conditional stock update per product for the whole chunk
+        for (Map.Entry<Long, Integer> entry : snapshot.getAllocatedByProduct().entrySet()) {
+            productService.updateProductStock(entry.getKey(), entry.getValue(), false);
+        }
+        productStockService.refresh(snapshot);
+
+        // STEP 5: Persist all sales and items; pooled ids let Hibernate batch the inserts
+        saleRepository.saveAll(sales);
+        salesRollupService.add(sales);
+        outboxService.appendAll(sales.stream()
+                .map(sale -> outboxService.toEvent(OutboxService.SALE_CREATED, DomainChangeEvent.Type.SALE,
+                        sale.getId(), outboxPayload(sale, true)))
+                .collect(Collectors.toList()));
+
+        for (int k = 0; k < sales.size(); k++) {
+            int index = saleIndexes.get(k);
+            Sale sale = sales.get(k);
+            results[index] = BulkSaleResultResponse.created(offset + index, sale.getId(), sale.getTotalAmount());
+        }
+
+        logger.debug("Bulk chunk at offset {}: {} of {} sales created", offset, sales.size(), chunk.size());
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SALE, null));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stop counting a reservation's holds as reserved in the snapshot; returns the reserved
+     * quantities from before, so they can be restored if the sale is skipped
+     */
+    private Map<Long, Integer> releaseHoldsInSnapshot(StockSnapshot snapshot, List<StockReservation> holds) {
+        Map<Long, Integer> reservedBefore = new HashMap<>();
+        for (StockReservation hold : holds) {
+            reservedBefore.putIfAbsent(hold.getProductId(), snapshot.getReservedQuantity(hold.getProductId()));
+            snapshot.releaseReserved(hold.getProductId(), hold.getQuantity());
+        }
+        return reservedBefore;
+    }
+
+    /**
+     * Outbox payload for a sale; lines are included for creation and deletion only
+     */
+    private Map<String, Object> outboxPayload(Sale sale, boolean includeItems) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("saleId", sale.getId());
+        payload.put("customerId", sale.getCustomer().getId());
+        payload.put("saleDate", sale.getSaleDate());
+        payload.put("totalAmount", sale.getTotalAmount());
+        payload.put("paymentMethod", sale.getPaymentMethod());
+        payload.put("paid", sale.getIsPaid());
+
+        if (includeItems) {
+            List<Map<String, Object>> items = new ArrayList<>(sale.getSaleItems().size());
+            for (SaleItem item : sale.getSaleItems()) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("productId", item.getProduct().getId());
+                line.put("quantity", item.getQuantity());
+                line.put("unitPrice", item.getUnitPrice());
+                line.put("lineTotal", item.getLineTotal());
+                line.put("inventoryId", item.getInventoryId());
+                items.add(line);
+            }
+            payload.put("items", items);
+        }
+        return payload;
+    }
+
+    /**
+     * Distinct product ids referenced by the sale items
+     */
+    private Set<Long> collectProductIds(List<SaleItemRequest> saleItems) {
+        return saleItems.stream()
+                .map(SaleItemRequest::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Reject the sale if the plan could not cover every line
+     */
+    private void ensurePlanFulfilled(AllocationPlan plan) {
+        if (!plan.getMissingProductIds().isEmpty()) {
+            throw new ValidationException("Product not found with id: " + plan.getMissingProductIds().get(0));
+        }
+
+        if (!plan.getShortfalls().isEmpty()) {
+            String combinedError = "Stock validation failed:\n" + String.join("\n", plan.getShortfalls());
+            logger.warn("Sale blocked due to insufficient stock: {}", combinedError);
+            throw new InsufficientStockException(combinedError);
+        }
     }
 
     /**
@@ -297,71 +713,14 @@ public class SaleService {
         }
     }
 
-    /**
-     * ENHANCED: Validate stock availability with absolute prevention of negative inventory
-     */
-    private void validateStockAvailability(List<SaleItemRequest> saleItems) {
-        logger.debug("Performing strict stock validation for {} sale items", saleItems.size());
-        
-        // Group by product ID to handle multiple items of same product
-        Map<Long, Integer> requiredQuantities = saleItems.stream()
-                .collect(Collectors.groupingBy(
-                        SaleItemRequest::getProductId,
-                        Collectors.summingInt(SaleItemRequest::getQuantity)
-                ));
-
-        List<String> stockErrors = new ArrayList<>();
-
-        for (Map.Entry<Long, Integer> entry : requiredQuantities.entrySet()) {
-            Long productId = entry.getKey();
-            Integer totalRequired = entry.getValue();
-
-            // Get current available stock (sum of all positive inventory batches)
-            int currentAvailable = inventoryService.getTotalAvailableStock(productId);
-            
-            // Get product details for error message
-            Product product = productService.getProductEntityById(productId);
-            
-            logger.debug("Product {}: Required={}, Available={}", product.getName(), totalRequired, currentAvailable);
-
-            if (currentAvailable < totalRequired) {
-                String error = String.format("Insufficient stock for product '%s' (Code: %s). Required: %d, Available: %d, Shortfall: %d",
-                    product.getName(),
-                    product.getCode(),
-                    totalRequired,
-                    currentAvailable,
-                    (totalRequired - currentAvailable));
-                stockErrors.add(error);
-            }
-            
-            // Additional check: Verify FIFO batches can fulfill the requirement
-            List<Inventory> fifoBatches = inventoryRepository.findAvailableStockForProductFIFO(productId);
-            int fifoAvailable = fifoBatches.stream().mapToInt(Inventory::getQuantity).sum();
-            
-            if (fifoAvailable < totalRequired) {
-                String error = String.format("FIFO inventory insufficient for product '%s'. FIFO Available: %d, Required: %d", 
-                    product.getName(), fifoAvailable, totalRequired);
-                stockErrors.add(error);
-            }
-        }
-
-        // If any stock errors, throw exception to prevent sale
-        if (!stockErrors.isEmpty()) {
-            String combinedError = "Stock validation failed:\n" + String.join("\n", stockErrors);
-            logger.warn("Sale blocked due to insufficient stock: {}", combinedError);
-            throw new InsufficientStockException(combinedError);
-        }
-        
-        logger.debug("Stock validation passed for all {} products", requiredQuantities.size());
-    }
-
     /**
      * Calculate total amount for all sale items
      */
     /**
  * Calculate total amount for all sale items
  */
-private BigDecimal calculateTotalAmount(List<SaleItemRequest> saleItems) {
+// Package-private so the JMH benchmark can call it directly
+BigDecimal calculateTotalAmount(List<SaleItemRequest> saleItems) {
     BigDecimal totalAmount = BigDecimal.ZERO;
 
     for (SaleItemRequest itemRequest : saleItems) {
@@ -424,97 +783,25 @@ private BigDecimal calculateTotalAmount(List<SaleItemRequest> saleItems) {
     }
 
     /**
-     * Process sale items with additional stock protection
-     */
-    private void processSaleItemsWithStockProtection(Sale sale, List<SaleItemRequest> itemRequests) {
-        logger.debug("Processing {} sale items with stock protection for sale id: {}", itemRequests.size(), sale.getId());
-
-        for (int i = 0; i < itemRequests.size(); i++) {
-            SaleItemRequest itemRequest = itemRequests.get(i);
-            try {
-                logger.debug("Processing item {}/{}: Product ID {}, Quantity {}", 
-                    i + 1, itemRequests.size(), itemRequest.getProductId(), itemRequest.getQuantity());
-                
-                // Additional stock check right before processing
-                int currentAvailable = inventoryService.getTotalAvailableStock(itemRequest.getProductId());
-                if (currentAvailable < itemRequest.getQuantity()) {
-                    Product product = productService.getProductEntityById(itemRequest.getProductId());
-                    throw new InsufficientStockException(
-                        String.format("Stock depleted during processing for product '%s'. Available: %d, Required: %d", 
-                            product.getName(), currentAvailable, itemRequest.getQuantity()));
-                }
-                
-                processSingleSaleItemWithFIFO(sale, itemRequest);
-                
-            } catch (Exception e) {
-                logger.error("Failed to process sale item {}/{} for product {}: {}", 
-                    i + 1, itemRequests.size(), itemRequest.getProductId(), e.getMessage());
-                throw new SaleProcessingException("Failed to process sale item for product " + itemRequest.getProductId(), e);
-            }
-        }
-
-        logger.debug("Completed processing all sale items for sale id: {}", sale.getId());
-    }
-
-    /**
-     * FIXED: Process single sale item with FIFO, updating quantities instead of deleting
+     * Apply one planned sale line: one sale item per FIFO batch slice, batch quantities reduced in place
      */
-    private void processSingleSaleItemWithFIFO(Sale sale, SaleItemRequest itemRequest) {
-        logger.debug("Processing FIFO for product: {}, quantity: {}", itemRequest.getProductId(), itemRequest.getQuantity());
-
-        Product product = productService.getProductEntityById(itemRequest.getProductId());
-
-        // Get available inventory batches with locking to prevent race conditions
-        List<Inventory> availableBatches = inventoryRepository.findAvailableStockForProductFIFO(itemRequest.getProductId());
-
-        if (availableBatches.isEmpty()) {
-            throw new InsufficientStockException("No available inventory batches for product: " + product.getName());
-        }
-
-        int remainingQuantity = itemRequest.getQuantity();
-        int totalStockUsed = 0;
-        List<Inventory> batchesToUpdate = new ArrayList<>();
+    private void processSingleSaleItemWithFIFO(Sale sale, LineAllocation line) {
+        SaleItemRequest itemRequest = line.getItem();
+        Product product = line.getProduct();
 
-        for (Inventory batch : availableBatches) {
-            if (remainingQuantity <= 0) break;
+        logger.debug("Applying FIFO plan for product: {}, quantity: {}, batches: {}",
+            product.getId(), itemRequest.getQuantity(), line.getSlices().size());
+        operationMetrics.recordBatchesPerLine(line.getSlices().size());
 
-            int quantityFromBatch = Math.min(remainingQuantity, batch.getQuantity());
-            if (quantityFromBatch <= 0) continue;
+        for (BatchSlice slice : line.getSlices()) {
+            Inventory batch = slice.getBatch();
 
-            // Create sale item and add to existing collection properly
-            SaleItem saleItem = createSaleItemForBatch(sale, product, itemRequest, quantityFromBatch, batch);
-            
-            // Add to existing collection, don't replace it
+            SaleItem saleItem = createSaleItemForBatch(sale, product, itemRequest, slice.getQuantity(), batch);
             sale.getSaleItems().add(saleItem);
-            
-            // FIXED: Always update quantity, never delete
-            int newQuantity = batch.getQuantity() - quantityFromBatch;
-            batch.setQuantity(newQuantity); // Set to 0 if depleted, but don't delete
-            batchesToUpdate.add(batch);
 
-            totalStockUsed += quantityFromBatch;
-            remainingQuantity -= quantityFromBatch;
-
-            logger.debug("Used {} units from batch {}, new quantity: {}, remaining to fulfill: {}", 
-                quantityFromBatch, batch.getId(), newQuantity, remainingQuantity);
-        }
-
-        if (remainingQuantity > 0) {
-            throw new InsufficientStockException("Could not fulfill complete quantity for product: " + product.getName() + 
-                ". Still need: " + remainingQuantity);
+            // Always update quantity, never delete depleted batches
+            batch.setQuantity(batch.getQuantity() - slice.getQuantity());
         }
-
-        // Batch update all inventory records (including those with 0 quantity)
-        if (!batchesToUpdate.isEmpty()) {
-            inventoryRepository.saveAll(batchesToUpdate);
-            logger.debug("Updated {} inventory batches", batchesToUpdate.size());
-        }
-
-        // Update product stock
-        product.setCurrentStock(product.getCurrentStock() - totalStockUsed);
-        productService.saveProduct(product);
-
-        logger.debug("FIFO processing completed for product: {}, total used: {}", product.getName(), totalStockUsed);
     }
 
     /**
@@ -549,31 +836,6 @@ private BigDecimal calculateTotalAmount(List<SaleItemRequest> saleItems) {
         return saleItem;
     }
 
-    /**
- * SAFE VERSION: Verify no negative stock after sale completion
- */
-private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
-    for (SaleItemRequest item : saleItems) {
-        try {
-            Product product = productService.getProductEntityById(item.getProductId());
-            if (product.getCurrentStock() < 0) {
-                logger.error("CRITICAL: Negative stock detected for product {}: {}", product.getName(), product.getCurrentStock());
-                throw new RuntimeException("Critical error: Negative stock detected for product: " + product.getName());
-            }
-            
-            int inventoryStock = inventoryService.getTotalAvailableStock(item.getProductId());
-            if (inventoryStock < 0) {
-                logger.error("CRITICAL: Negative inventory stock for product {}: {}", product.getName(), inventoryStock);
-                throw new RuntimeException("Critical error: Negative inventory stock for product: " + product.getName());
-            }
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error verifying stock for product {}: {}", item.getProductId(), e.getMessage());
-        }
-    }
-}
-
     /**
      * Update customer outstanding balance
      */
@@ -591,8 +853,14 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
 
     // ... (keeping all other existing methods unchanged - markSaleAsPaid, deleteSale, etc.)
     
-    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public SaleResponse markSaleAsPaid(Long saleId) {
+        return operationMetrics.time(OperationMetrics.SALE_MARK_PAID, () ->
+                transactionRetryExecutor.execute("Mark sale as paid", Isolation.READ_COMMITTED,
+                        () -> markSaleAsPaidAttempt(saleId)));
+    }
+
+    private SaleResponse markSaleAsPaidAttempt(Long saleId) {
         try {
             logger.debug("Marking sale as paid: {}", saleId);
 
@@ -603,6 +871,8 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
                 throw new ValidationException("Sale is already marked as paid");
             }
 
+            // Products, then customer, before any row is changed (same order as sale creation)
+            salesRollupService.lock(List.of(sale));
             sale.markAsPaid();
 
             // Process inventory for check payments (inventory is updated when check clears)
@@ -616,7 +886,10 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
             customerService.updateCustomer(customer);
 
             Sale savedSale = saleRepository.save(sale);
+            outboxService.append(OutboxService.SALE_PAID, DomainChangeEvent.Type.SALE, saleId,
+                    outboxPayload(savedSale, false));
             logger.info("Sale marked as paid successfully with id: {}", saleId);
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SALE, saleId));
 
             return saleMapper.toResponse(savedSale);
 
@@ -624,6 +897,9 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
             logger.warn("Validation error marking sale as paid: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error marking sale as paid: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to mark sale as paid", e);
         }
@@ -633,25 +909,41 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
         try {
             logger.debug("Processing inventory for check payment: {}", sale.getId());
 
-            List<SaleItem> saleItems = saleItemRepository.findBySaleId(sale.getId());
+            List<SaleItem> pendingItems = saleItemRepository.findBySaleId(sale.getId()).stream()
+                    .filter(saleItem -> saleItem.getInventoryId() == null)
+                    .collect(Collectors.toList());
 
-            for (SaleItem saleItem : saleItems) {
-                if (saleItem.getInventoryId() == null) {
-                    processPendingSaleItem(saleItem);
-                }
+            if (pendingItems.isEmpty()) {
+                return;
+            }
+
+            // Lock products in ascending id order before touching their batches
+            Set<Long> productIds = pendingItems.stream()
+                    .map(saleItem -> saleItem.getProduct().getId())
+                    .collect(Collectors.toSet());
+            StockSnapshot snapshot = fifoAllocationService.lockSnapshot(productIds);
+
+            for (SaleItem saleItem : pendingItems) {
+                processPendingSaleItem(saleItem, snapshot);
             }
+            productStockService.refresh(snapshot);
+            // Their batch cost is known only now
+            salesRollupService.addFifoCost(sale, pendingItems);
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error processing inventory for check payment: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to process inventory for check payment", e);
         }
     }
 
-    private void processPendingSaleItem(SaleItem saleItem) {
+    private void processPendingSaleItem(SaleItem saleItem, StockSnapshot snapshot) {
         try {
             Product product = saleItem.getProduct();
             int requiredQuantity = saleItem.getQuantity();
 
-            List<Inventory> availableBatches = inventoryRepository.findAvailableStockForProductFIFO(product.getId());
+            List<Inventory> availableBatches = snapshot.getBatches(product.getId());
 
             int remainingQuantity = requiredQuantity;
             int totalStockReduction = 0;
@@ -670,6 +962,8 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
 
                 if (saleItem.getInventoryId() == null) {
                     saleItem.setInventoryId(batch.getId());
+                    saleItem.setInventoryUnitPrice(batch.getUnitPrice());
+                    saleItem.setInventoryDate(batch.getDate());
                 }
 
                 remainingQuantity -= quantityFromBatch;
@@ -682,23 +976,36 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
             }
 
             // Update product stock
-            product.setCurrentStock(product.getCurrentStock() - totalStockReduction);
-            productService.saveProduct(product);
+            productService.updateProductStock(product.getId(), totalStockReduction, false);
 
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error processing pending sale item: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to process pending sale item", e);
         }
     }
 
-    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteSale(Long id) {
+        operationMetrics.time(OperationMetrics.SALE_DELETE, () ->
+                transactionRetryExecutor.execute("Delete sale", Isolation.READ_COMMITTED, () -> {
+                    deleteSaleAttempt(id);
+                    return null;
+                }));
+    }
+
+    private void deleteSaleAttempt(Long id) {
         try {
             logger.debug("Deleting sale with id: {}", id);
 
             Sale sale = saleRepository.findById(id)
                     .orElseThrow(() -> new ValidationException("Sale not found with id: " + id));
 
+            // Products, then customer, before any row is changed (same order as sale creation)
+            salesRollupService.lock(List.of(sale));
+
             // Reverse inventory if sale was processed
             if (sale.getIsPaid() || sale.getPaymentMethod() != Sale.PaymentMethod.CREDIT_CHECK) {
                 reverseInventoryForSale(sale);
@@ -711,12 +1018,20 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
                 customerService.updateCustomer(customer);
             }
 
+            // Captured before the delete cascades to the items
+            Map<String, Object> payload = outboxPayload(sale, true);
             saleRepository.delete(sale);
+            salesRollupService.remove(List.of(sale));
+            outboxService.append(OutboxService.SALE_DELETED, DomainChangeEvent.Type.SALE, id, payload);
             logger.info("Sale deleted successfully with id: {}", id);
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SALE, id));
 
         } catch (ValidationException e) {
             throw e;
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error deleting sale: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to delete sale", e);
         }
@@ -733,6 +1048,11 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
             List<Inventory> batchesToUpdate = new ArrayList<>();
             Map<Long, Integer> productStockToReverse = new HashMap<>();
 
+            // Lock products in ascending id order before touching their batches
+            fifoAllocationService.lockProducts(saleItems.stream()
+                    .map(saleItem -> saleItem.getProduct().getId())
+                    .collect(Collectors.toSet()));
+
             for (SaleItem saleItem : saleItems) {
                 // Reverse inventory batch quantity
                 if (saleItem.getInventoryId() != null) {
@@ -759,16 +1079,18 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
 
             // Reverse product stock
             for (Map.Entry<Long, Integer> entry : productStockToReverse.entrySet()) {
-                Product product = productService.getProductEntityById(entry.getKey());
                 int stockToAdd = entry.getValue();
-                product.setCurrentStock(product.getCurrentStock() + stockToAdd);
-                productService.saveProduct(product);
-                logger.debug("Reversed {} units for product: {}", stockToAdd, product.getName());
+                productService.updateProductStock(entry.getKey(), stockToAdd, true);
+                logger.debug("Reversed {} units for product id: {}", stockToAdd, entry.getKey());
             }
+            productStockService.refresh(productStockToReverse.keySet());
 
             logger.debug("Inventory reversal completed for sale: {}", sale.getId());
 
         } catch (Exception e) {
+            if (TransactionRetryExecutor.isRetryable(e)) {
+                throw e;
+            }
             logger.error("Error reversing inventory for sale: {}", e.getMessage(), e);
             throw new SaleProcessingException("Failed to reverse inventory", e);
         }
@@ -779,7 +1101,13 @@ private void verifyNoNegativeStock(List<SaleItemRequest> saleItems) {
     /**
  * Mark a check payment as bounced/returned
  */
+@Transactional(propagation = Propagation.SUPPORTS)
 public Sale markCheckAsBounced(Long saleId, String bouncedNotes) {
+    return transactionRetryExecutor.execute("Mark check as bounced", Isolation.READ_COMMITTED,
+            () -> markCheckAsBouncedAttempt(saleId, bouncedNotes));
+}
+
+private Sale markCheckAsBouncedAttempt(Long saleId, String bouncedNotes) {
     Sale sale = saleRepository.findById(saleId)
         .orElseThrow(() -> new RuntimeException("Sale not found with id: " + saleId));
     
@@ -805,6 +1133,12 @@ public Sale markCheckAsBounced(Long saleId, String bouncedNotes) {
     }
     
     Sale updatedSale = saleRepository.save(sale);
+    Map<String, Object> payload = outboxPayload(updatedSale, false);
+    payload.put("checkNumber", updatedSale.getCheckNumber());
+    payload.put("bouncedDate", updatedSale.getCheckBouncedDate());
+    payload.put("bouncedNotes", updatedSale.getCheckBouncedNotes());
+    outboxService.append(OutboxService.SALE_CHECK_BOUNCED, DomainChangeEvent.Type.SALE, saleId, payload);
+    eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SALE, saleId));
     
     // Optional: Log the bounced check event
     logger.info("Check bounced - Sale ID: {}, Check Number: {}, Amount: {}", 
@@ -816,7 +1150,13 @@ public Sale markCheckAsBounced(Long saleId, String bouncedNotes) {
 /**
  * Clear the bounced status from a check payment
  */
+@Transactional(propagation = Propagation.SUPPORTS)
 public Sale clearBouncedCheckStatus(Long saleId) {
+    return transactionRetryExecutor.execute("Clear bounced check", Isolation.READ_COMMITTED,
+            () -> clearBouncedCheckStatusAttempt(saleId));
+}
+
+private Sale clearBouncedCheckStatusAttempt(Long saleId) {
     Sale sale = saleRepository.findById(saleId)
         .orElseThrow(() -> new RuntimeException("Sale not found with id: " + saleId));
     
@@ -835,6 +1175,10 @@ public Sale clearBouncedCheckStatus(Long saleId) {
     sale.setCheckBouncedNotes(null);
     
     Sale updatedSale = saleRepository.save(sale);
+    Map<String, Object> payload = outboxPayload(updatedSale, false);
+    payload.put("checkNumber", updatedSale.getCheckNumber());
+    outboxService.append(OutboxService.SALE_CHECK_CLEARED, DomainChangeEvent.Type.SALE, saleId, payload);
+    eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SALE, saleId));
     
     // Optional: Log the status change
     logger.info("Bounced check status cleared - Sale ID: {}, Check Number: {}", 
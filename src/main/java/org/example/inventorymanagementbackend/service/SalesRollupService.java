@@ -0,0 +1,432 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.example.inventorymanagementbackend.dto.response.DailySalesResponse;
+import org.example.inventorymanagementbackend.dto.response.TopSellingProductResponse;
+import org.example.inventorymanagementbackend.entity.DailyCustomerSales;
+import org.example.inventorymanagementbackend.entity.DailyProductSales;
+import org.example.inventorymanagementbackend.entity.Sale;
+import org.example.inventorymanagementbackend.entity.SaleItem;
+import org.example.inventorymanagementbackend.repository.CustomerRepository;
+import org.example.inventorymanagementbackend.repository.DailyCustomerSalesRepository;
+import org.example.inventorymanagementbackend.repository.DailyProductSalesRepository;
+import org.example.inventorymanagementbackend.repository.SaleItemRepository;
+import org.example.inventorymanagementbackend.repository.SaleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Sales Rollup Service
+ * Maintains the daily (day, product) and (day, customer) sales rollups. Sale writers add or
+ * remove their own totals in their transaction with relative updates, so the cost per sale
+ * does not grow with the day's volume. A scheduled job recomputes recent days from sale_items
+ * to repair anything written outside these paths.
+ */
+@Service
+@Transactional
+public class SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private DailyCustomerSalesRepository dailyCustomerSalesRepository;
+
+    @Autowired
+    private SaleItemRepository saleItemRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private FifoAllocationService fifoAllocationService;
+
+    @Autowired
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Value("${app.rollup.rebuild-days:7}")
+    private int rebuildDays;
+
+    /**
+     * Lock the products (ascending id) and then the customers of the sales.
+     * Writers that change customer rows before applying deltas call this first to keep the lock order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Collection<Sale> sales) {
+        Set<Long> productIds = new TreeSet<>();
+        Set<Long> customerIds = new TreeSet<>();
+        for (Sale sale : sales) {
+            customerIds.add(sale.getCustomer().getId());
+            for (SaleItem item : sale.getSaleItems()) {
+                productIds.add(item.getProduct().getId());
+            }
+        }
+        lock(productIds, customerIds);
+    }
+
+    /**
+     * Add newly saved sales to their rollup rows, in the caller's transaction.
+     * The caller holds the sales' product locks.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Collection<Sale> sales) {
+        apply(sales, 1);
+    }
+
+    /**
+     * Take deleted sales back out of their rollup rows, in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Collection<Sale> sales) {
+        apply(sales, -1);
+    }
+
+    /**
+     * Add the FIFO cost of items whose batches were assigned after the sale was recorded
+     * (pending cheque payments)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addFifoCost(Sale sale, Collection<SaleItem> items) {
+        Map<Long, Totals> products = new TreeMap<>();
+        Totals customer = new Totals();
+        for (SaleItem item : items) {
+            BigDecimal cost = fifoCost(item);
+            products.computeIfAbsent(item.getProduct().getId(), id -> new Totals()).addFifoCost(cost);
+            customer.addFifoCost(cost);
+        }
+
+        LocalDate day = sale.getSaleDate().toLocalDate();
+        applyTotals(Map.of(day, products), Map.of(day, Map.of(sale.getCustomer().getId(), customer)));
+    }
+
+    private void apply(Collection<Sale> sales, int sign) {
+        Map<LocalDate, Map<Long, Totals>> products = new TreeMap<>();
+        Map<LocalDate, Map<Long, Totals>> customers = new TreeMap<>();
+        for (Sale sale : sales) {
+            LocalDate day = sale.getSaleDate().toLocalDate();
+            Map<Long, Totals> dayProducts = products.computeIfAbsent(day, d -> new TreeMap<>());
+            Totals customer = customers.computeIfAbsent(day, d -> new TreeMap<>())
+                    .computeIfAbsent(sale.getCustomer().getId(), id -> new Totals());
+
+            // A sale counts once per product, however many batch lines it took
+            Map<Long, Totals> saleProducts = new HashMap<>();
+            for (SaleItem item : sale.getSaleItems()) {
+                saleProducts.computeIfAbsent(item.getProduct().getId(), id -> new Totals()).addItem(item, sign);
+                customer.addItem(item, sign);
+            }
+            saleProducts.forEach((productId, totals) -> {
+                totals.saleCount = sign;
+                dayProducts.merge(productId, totals, Totals::merge);
+            });
+            customer.saleCount += sign;
+        }
+        applyTotals(products, customers);
+    }
+
+    /**
+     * Add the deltas to existing rows, creating rows for keys that gain their first sale of the day
+     */
+    private void applyTotals(Map<LocalDate, Map<Long, Totals>> products, Map<LocalDate, Map<Long, Totals>> customers) {
+        products.forEach((day, byProduct) -> {
+            List<Long> emptied = new ArrayList<>();
+            byProduct.forEach((productId, t) -> {
+                int updated = dailyProductSalesRepository.addTotals(day, productId,
+                        t.saleCount, t.quantity, t.revenue, t.discount, t.fifoCost);
+                // The product lock held by the caller keeps a concurrent sale from inserting the same key
+                if (updated == 0 && t.saleCount > 0) {
+                    dailyProductSalesRepository.save(t.toProductRow(day, productId));
+                }
+                if (t.saleCount < 0) {
+                    emptied.add(productId);
+                }
+            });
+            if (!emptied.isEmpty()) {
+                dailyProductSalesRepository.deleteEmpty(day, emptied);
+            }
+        });
+
+        customers.forEach((day, byCustomer) -> {
+            List<Long> emptied = new ArrayList<>();
+            byCustomer.forEach((customerId, t) -> {
+                int updated = dailyCustomerSalesRepository.addTotals(day, customerId,
+                        t.saleCount, t.quantity, t.revenue, t.discount, t.fifoCost);
+                if (updated == 0 && t.saleCount > 0) {
+                    // First sale of the day for this customer: lock the customer so only one
+                    // transaction creates the row, then look again
+                    customerRepository.findAllByIdForUpdate(List.of(customerId));
+                    updated = dailyCustomerSalesRepository.addTotals(day, customerId,
+                            t.saleCount, t.quantity, t.revenue, t.discount, t.fifoCost);
+                    if (updated == 0) {
+                        dailyCustomerSalesRepository.save(t.toCustomerRow(day, customerId));
+                    }
+                }
+                if (t.saleCount < 0) {
+                    emptied.add(customerId);
+                }
+            });
+            if (!emptied.isEmpty()) {
+                dailyCustomerSalesRepository.deleteEmpty(day, emptied);
+            }
+        });
+    }
+
+    /**
+     * Rebuild the rollups for every day in [from, to] that has sales or rollup rows.
+     * Each day is recomputed in its own transaction under the same locks as live writers.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Rebuild range must have from <= to");
+        }
+
+        Set<LocalDate> days = new TreeSet<>(saleRepository.findSaleDaysBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+        days.addAll(dailyProductSalesRepository.findSaleDaysBetween(from, to));
+
+        for (LocalDate day : days) {
+            // Rollup rows have natural keys, so the rebuild needs no write permit
+            transactionRetryExecutor.executeUncapped("Rebuild sales rollup", Isolation.READ_COMMITTED,
+                    () -> rebuildDay(day));
+        }
+        logger.info("Rebuilt sales rollups for {} days between {} and {}", days.size(), from, to);
+        return days.size();
+    }
+
+    /**
+     * Nightly repair of recent days
+     */
+    @Scheduled(cron = "${app.rollup.rebuild-cron:0 30 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildRecentDays() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(Math.max(rebuildDays - 1, 0)), today);
+    }
+
+    /**
+     * Build the rollups from the full sale history when they are empty (e.g. first start after upgrade)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (dailyCustomerSalesRepository.count() > 0) {
+            return;
+        }
+        LocalDateTime firstSale = saleRepository.findFirstSaleDate();
+        if (firstSale != null) {
+            rebuild(firstSale.toLocalDate(), LocalDate.now());
+        }
+    }
+
+    /**
+     * Best-selling products for days in [from, to]
+     */
+    @Transactional(readOnly = true)
+    public List<TopSellingProductResponse> getTopSellingProducts(LocalDate from, LocalDate to, int limit) {
+        return dailyProductSalesRepository.findTopSellingProductsBetween(from, to, Limit.of(limit)).stream()
+                .map(row -> new TopSellingProductResponse(
+                        (Long) row[0],     // productId
+                        (String) row[1],   // productCode
+                        (String) row[2],   // productName
+                        ((Number) row[3]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesResponse> getProductHistory(Long productId, LocalDate from, LocalDate to) {
+        return dailyProductSalesRepository.findByProductIdAndSaleDayBetweenOrderBySaleDayAsc(productId, from, to).stream()
+                .map(r -> toDailyResponse(r.getSaleDay(), r.getSaleCount(), r.getQuantity(),
+                        r.getRevenue(), r.getDiscount(), r.getFifoCost()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesResponse> getCustomerHistory(Long customerId, LocalDate from, LocalDate to) {
+        return dailyCustomerSalesRepository.findByCustomerIdAndSaleDayBetweenOrderBySaleDayAsc(customerId, from, to).stream()
+                .map(r -> toDailyResponse(r.getSaleDay(), r.getSaleCount(), r.getQuantity(),
+                        r.getRevenue(), r.getDiscount(), r.getFifoCost()))
+                .collect(Collectors.toList());
+    }
+
+    private Integer rebuildDay(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+
+        // Keys with sales now plus keys that only have (possibly obsolete) rollup rows
+        Set<Long> productIds = new TreeSet<>(saleItemRepository.findProductIdsSoldBetween(start, end));
+        productIds.addAll(dailyProductSalesRepository.findProductIdsBySaleDay(day));
+        Set<Long> customerIds = new TreeSet<>(saleRepository.findCustomerIdsBetween(start, end));
+        customerIds.addAll(dailyCustomerSalesRepository.findCustomerIdsBySaleDay(day));
+
+        lock(productIds, customerIds);
+        refreshDay(day, productIds, customerIds);
+        return productIds.size();
+    }
+
+    private void lock(Set<Long> productIds, Set<Long> customerIds) {
+        fifoAllocationService.lockProducts(productIds);
+        if (!customerIds.isEmpty()) {
+            customerRepository.findAllByIdForUpdate(new TreeSet<>(customerIds));
+        }
+    }
+
+    private void refreshDay(LocalDate day, Set<Long> productIds, Set<Long> customerIds) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (productIds != null && !productIds.isEmpty()) {
+            Map<Long, DailyProductSales> rows = new HashMap<>();
+            for (DailyProductSales row : dailyProductSalesRepository.findBySaleDayAndProductIdIn(day, productIds)) {
+                rows.put(row.getProductId(), row);
+            }
+
+            List<DailyProductSales> changed = new ArrayList<>();
+            for (Object[] totals : saleItemRepository.aggregateByProductBetween(start, end, productIds)) {
+                Long productId = (Long) totals[0];
+                DailyProductSales row = rows.remove(productId);
+                if (row == null) {
+                    row = new DailyProductSales(day, productId);
+                }
+                row.setSaleCount(toLong(totals[1]));
+                row.setQuantity(toLong(totals[2]));
+                row.setRevenue(toAmount(totals[3]));
+                row.setDiscount(toAmount(totals[4]));
+                row.setFifoCost(toAmount(totals[5]));
+                row.setUpdatedAt(now);
+                changed.add(row);
+            }
+            dailyProductSalesRepository.saveAll(changed);
+            // Keys left over no longer have any sales on this day
+            dailyProductSalesRepository.deleteAll(rows.values());
+        }
+
+        if (customerIds != null && !customerIds.isEmpty()) {
+            Map<Long, DailyCustomerSales> rows = new HashMap<>();
+            for (DailyCustomerSales row : dailyCustomerSalesRepository.findBySaleDayAndCustomerIdIn(day, customerIds)) {
+                rows.put(row.getCustomerId(), row);
+            }
+
+            List<DailyCustomerSales> changed = new ArrayList<>();
+            for (Object[] totals : saleItemRepository.aggregateByCustomerBetween(start, end, customerIds)) {
+                Long customerId = (Long) totals[0];
+                DailyCustomerSales row = rows.remove(customerId);
+                if (row == null) {
+                    row = new DailyCustomerSales(day, customerId);
+                }
+                row.setSaleCount(toLong(totals[1]));
+                row.setQuantity(toLong(totals[2]));
+                row.setRevenue(toAmount(totals[3]));
+                row.setDiscount(toAmount(totals[4]));
+                row.setFifoCost(toAmount(totals[5]));
+                row.setUpdatedAt(now);
+                changed.add(row);
+            }
+            dailyCustomerSalesRepository.saveAll(changed);
+            dailyCustomerSalesRepository.deleteAll(rows.values());
+        }
+
+        logger.debug("Refreshed sales rollup for {}: products {}, customers {}", day, productIds, customerIds);
+    }
+
+    private static BigDecimal fifoCost(SaleItem item) {
+        BigDecimal unitCost = item.getInventoryUnitPrice() != null ? item.getInventoryUnitPrice() : BigDecimal.ZERO;
+        return unitCost.multiply(BigDecimal.valueOf(item.getQuantity()));
+    }
+
+    /**
+     * Change to one rollup row; the same sums the rebuild aggregates from sale_items
+     */
+    private static class Totals {
+        private long saleCount;
+        private long quantity;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private BigDecimal discount = BigDecimal.ZERO;
+        private BigDecimal fifoCost = BigDecimal.ZERO;
+
+        void addItem(SaleItem item, int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            quantity += (long) sign * item.getQuantity();
+            revenue = revenue.add(toAmount(item.getLineTotal()).multiply(factor));
+            discount = discount.add(toAmount(item.getDiscount()).multiply(factor));
+            fifoCost = fifoCost.add(fifoCost(item).multiply(factor));
+        }
+
+        void addFifoCost(BigDecimal cost) {
+            fifoCost = fifoCost.add(cost);
+        }
+
+        Totals merge(Totals other) {
+            saleCount += other.saleCount;
+            quantity += other.quantity;
+            revenue = revenue.add(other.revenue);
+            discount = discount.add(other.discount);
+            fifoCost = fifoCost.add(other.fifoCost);
+            return this;
+        }
+
+        DailyProductSales toProductRow(LocalDate day, Long productId) {
+            DailyProductSales row = new DailyProductSales(day, productId);
+            row.setSaleCount(saleCount);
+            row.setQuantity(quantity);
+            row.setRevenue(revenue);
+            row.setDiscount(discount);
+            row.setFifoCost(fifoCost);
+            row.setUpdatedAt(LocalDateTime.now());
+            return row;
+        }
+
+        DailyCustomerSales toCustomerRow(LocalDate day, Long customerId) {
+            DailyCustomerSales row = new DailyCustomerSales(day, customerId);
+            row.setSaleCount(saleCount);
+            row.setQuantity(quantity);
+            row.setRevenue(revenue);
+            row.setDiscount(discount);
+            row.setFifoCost(fifoCost);
+            row.setUpdatedAt(LocalDateTime.now());
+            return row;
+        }
+    }
+
+    private DailySalesResponse toDailyResponse(LocalDate day, Long saleCount, Long quantity,
+                                               BigDecimal revenue, BigDecimal discount, BigDecimal fifoCost) {
+        return new DailySalesResponse(day, saleCount, quantity, revenue, discount, fifoCost, revenue.subtract(fifoCost));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toAmount(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,318 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.example.inventorymanagementbackend.dto.request.StockReservationRequest;
+import org.example.inventorymanagementbackend.dto.response.StockReservationResponse;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.entity.ProductStock;
+import org.example.inventorymanagementbackend.entity.StockReservation;
+import org.example.inventorymanagementbackend.repository.ProductStockRepository;
+import org.example.inventorymanagementbackend.repository.StockReservationRepository;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stock Reservation Service
+ * Holds stock per product for a limited time between the POS stock check and checkout.
+ * Held units are added to product_stock.reserved, which every availability check and FIFO
+ * snapshot subtracts. Holds are converted by the sale that carries their reservationId,
+ * released on request, or expired by a scheduled sweep. All changes lock the products first,
+ * in ascending id order, exactly like sales.
+ */
+@Service
+@Transactional
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+    private static final int MAX_QUANTITY_PER_ITEM = 1000;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private FifoAllocationService fifoAllocationService;
+
+    @Autowired
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Value("${app.reservations.default-ttl-seconds:300}")
+    private int defaultTtlSeconds;
+
+    @Value("${app.reservations.max-ttl-seconds:1800}")
+    private int maxTtlSeconds;
+
+    @Value("${app.reservations.sweep-batch-size:200}")
+    private int sweepBatchSize;
+
+    // Custom Exceptions
+    public static class ReservationNotFoundException extends RuntimeException {
+        public ReservationNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    public static class InsufficientStockException extends RuntimeException {
+        public InsufficientStockException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Hold the requested quantities, all or nothing
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Reservation items are required");
+        }
+
+        // Sorted by product id; repeated products are held as one
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockReservationRequest.Item item : request.getItems()) {
+            if (item.getProductId() == null || item.getQuantity() == null
+                    || item.getQuantity() < 1 || item.getQuantity() > MAX_QUANTITY_PER_ITEM) {
+                throw new IllegalArgumentException("Each reservation item needs a product and a quantity between 1 and "
+                        + MAX_QUANTITY_PER_ITEM);
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Integer requestedTtl = request.getTtlSeconds();
+        if (requestedTtl != null && (requestedTtl < 1 || requestedTtl > maxTtlSeconds)) {
+            throw new IllegalArgumentException("TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+        int ttlSeconds = requestedTtl != null ? requestedTtl : defaultTtlSeconds;
+
+        return transactionRetryExecutor.execute("Reserve stock", Isolation.READ_COMMITTED,
+                () -> reserveAttempt(quantities, ttlSeconds));
+    }
+
+    private StockReservationResponse reserveAttempt(Map<Long, Integer> quantities, int ttlSeconds) {
+        Map<Long, Product> products = fifoAllocationService.lockProducts(quantities.keySet());
+        Map<Long, ProductStock> stocks = loadStocks(quantities.keySet());
+
+        List<String> shortfalls = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null || !Boolean.TRUE.equals(product.getIsActive())) {
+                shortfalls.add("Product not found with id: " + entry.getKey());
+                continue;
+            }
+
+            ProductStock stock = stocks.get(entry.getKey());
+            int available = stock != null ? stock.getAvailableQuantity() : 0;
+            if (available < entry.getValue()) {
+                shortfalls.add(String.format(
+                        "Insufficient stock for product '%s' (Code: %s). Requested: %d, Available: %d",
+                        product.getName(), product.getCode(), entry.getValue(), available));
+            }
+        }
+        if (!shortfalls.isEmpty()) {
+            throw new InsufficientStockException(String.join("; ", shortfalls));
+        }
+
+        String reservationId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(ttlSeconds);
+
+        List<StockReservation> holds = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            ProductStock stock = stocks.get(entry.getKey());
+            stock.setReserved(stock.getReserved() + entry.getValue());
+            holds.add(new StockReservation(reservationId, entry.getKey(), entry.getValue(), now, expiresAt));
+        }
+        productStockRepository.saveAll(stocks.values());
+        stockReservationRepository.saveAll(holds);
+
+        logger.debug("Reserved {} until {}: {}", reservationId, expiresAt, quantities);
+        return new StockReservationResponse(reservationId, expiresAt, quantities);
+    }
+
+    /**
+     * Active holds of a reservation; expired holds count as gone even before the sweep removes them
+     */
+    @Transactional(readOnly = true)
+    public StockReservationResponse getReservation(String reservationId) {
+        List<StockReservation> holds = stockReservationRepository.findByReservationIdAndExpiresAtAfter(
+                reservationId, LocalDateTime.now());
+        if (holds.isEmpty()) {
+            throw new ReservationNotFoundException("Reservation not found or no longer active: " + reservationId);
+        }
+        return toResponse(reservationId, holds);
+    }
+
+    /**
+     * Give the held units back before the reservation expires
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void release(String reservationId) {
+        transactionRetryExecutor.execute("Release stock reservation", Isolation.READ_COMMITTED, () -> {
+            List<Long> productIds = stockReservationRepository.findProductIdsByReservationId(reservationId);
+            if (!productIds.isEmpty()) {
+                fifoAllocationService.lockProducts(productIds);
+            }
+
+            // Read after locking: a concurrent sale or sweep may have removed the holds meanwhile
+            List<StockReservation> holds = stockReservationRepository.findByReservationId(reservationId);
+            if (holds.isEmpty()) {
+                throw new ReservationNotFoundException("Reservation not found or no longer active: " + reservationId);
+            }
+            releaseHolds(holds);
+            logger.debug("Released reservation {}", reservationId);
+            return null;
+        });
+    }
+
+    /**
+     * Products held by a reservation, so a sale converting it can lock them together with its own
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> getProductIds(String reservationId) {
+        return stockReservationRepository.findProductIdsByReservationId(reservationId);
+    }
+
+    /**
+     * Convert a reservation inside the sale transaction: its holds are removed and the snapshot
+     * no longer counts them as reserved, so the sale can take those units. The caller has locked
+     * the products through the snapshot. An expired or unknown reservation is ignored and the sale
+     * competes for unreserved stock like any other.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void convert(String reservationId, StockSnapshot snapshot) {
+        // Expired holds stay reserved until the sweep releases them; they are never converted
+        List<StockReservation> holds = stockReservationRepository.findByReservationIdAndExpiresAtAfter(
+                reservationId, LocalDateTime.now());
+        if (holds.isEmpty()) {
+            logger.debug("Reservation {} is no longer active; sale uses unreserved stock", reservationId);
+            return;
+        }
+
+        releaseHolds(holds);
+        for (StockReservation hold : holds) {
+            snapshot.releaseReserved(hold.getProductId(), hold.getQuantity());
+        }
+    }
+
+    /**
+     * Active holds of several reservations by reservation id, for a bulk import that converts them
+     * sale by sale. The caller has locked the held products (see getProductIds).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, List<StockReservation>> getActiveHolds(Collection<String> reservationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<StockReservation>> holds = new HashMap<>();
+        for (String reservationId : reservationIds) {
+            List<StockReservation> active = stockReservationRepository.findByReservationIdAndExpiresAtAfter(reservationId, now);
+            if (!active.isEmpty()) {
+                holds.put(reservationId, active);
+            }
+        }
+        return holds;
+    }
+
+    /**
+     * Convert holds from getActiveHolds once the sale taking them is accepted; the caller has
+     * already stopped counting them as reserved in its snapshot
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void convertHolds(List<StockReservation> holds) {
+        releaseHolds(holds);
+    }
+
+    /**
+     * Release expired holds, a batch of products per transaction
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.sweep-interval-ms:15000}",
+            initialDelayString = "${app.reservations.sweep-interval-ms:15000}")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void expireReservations() {
+        int products;
+        int total = 0;
+        do {
+            int[] released = transactionRetryExecutor.execute("Expire stock reservations", Isolation.READ_COMMITTED,
+                    this::expireBatch);
+            products = released[0];
+            total += released[1];
+        } while (products == sweepBatchSize);
+
+        if (total > 0) {
+            logger.info("Expired {} stock reservation holds", total);
+        }
+    }
+
+    /**
+     * [products locked, holds released]
+     */
+    private int[] expireBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> productIds = stockReservationRepository.findProductIdsWithExpiredHolds(now, Limit.of(sweepBatchSize));
+        if (productIds.isEmpty()) {
+            return new int[] { 0, 0 };
+        }
+
+        fifoAllocationService.lockProducts(productIds);
+        List<StockReservation> holds = stockReservationRepository.findByProductIdInAndExpiresAtBefore(productIds, now);
+        releaseHolds(holds);
+        return new int[] { productIds.size(), holds.size() };
+    }
+
+    /**
+     * Take the holds off product_stock.reserved and delete them; products must be locked
+     */
+    private void releaseHolds(List<StockReservation> holds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (StockReservation hold : holds) {
+            quantities.merge(hold.getProductId(), hold.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, ProductStock> stocks = loadStocks(quantities.keySet());
+        quantities.forEach((productId, quantity) -> {
+            ProductStock stock = stocks.get(productId);
+            stock.setReserved(Math.max(stock.getReserved() - quantity, 0));
+        });
+        productStockRepository.saveAll(stocks.values());
+        stockReservationRepository.deleteAll(holds);
+    }
+
+    /**
+     * Projection rows keyed by product id; missing rows are created empty
+     */
+    private Map<Long, ProductStock> loadStocks(Collection<Long> productIds) {
+        Map<Long, ProductStock> stocks = new HashMap<>();
+        for (ProductStock stock : productStockRepository.findAllById(productIds)) {
+            stocks.put(stock.getProductId(), stock);
+        }
+        productIds.forEach(id -> stocks.computeIfAbsent(id, ProductStock::new));
+        return stocks;
+    }
+
+    private StockReservationResponse toResponse(String reservationId, List<StockReservation> holds) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        LocalDateTime expiresAt = null;
+        for (StockReservation hold : holds) {
+            quantities.merge(hold.getProductId(), hold.getQuantity(), Integer::sum);
+            expiresAt = hold.getExpiresAt();
+        }
+        return new StockReservationResponse(reservationId, expiresAt, quantities);
+    }
+}
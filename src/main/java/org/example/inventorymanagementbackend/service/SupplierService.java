@@ -7,11 +7,13 @@ import java.util.stream.Collectors;
 import org.example.inventorymanagementbackend.dto.request.SupplierRequest;
 import org.example.inventorymanagementbackend.dto.response.SupplierResponse;
 import org.example.inventorymanagementbackend.entity.Supplier;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
 import org.example.inventorymanagementbackend.mapper.SupplierMapper;
 import org.example.inventorymanagementbackend.repository.SupplierRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,9 @@ public class SupplierService {
 
     private static final Logger logger = LoggerFactory.getLogger(SupplierService.class);
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private SupplierRepository supplierRepository;
 
@@ -81,6 +86,7 @@ public class SupplierService {
 
             Supplier savedSupplier = supplierRepository.save(supplier);
             logger.info("Supplier created successfully with id: {}", savedSupplier.getId());
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SUPPLIER, savedSupplier.getId()));
 
             return supplierMapper.toResponse(savedSupplier);
         } catch (IllegalArgumentException e) {
@@ -113,6 +119,7 @@ public class SupplierService {
 
             Supplier savedSupplier = supplierRepository.save(existingSupplier);
             logger.info("Supplier updated successfully with id: {}", savedSupplier.getId());
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SUPPLIER, savedSupplier.getId()));
 
             return supplierMapper.toResponse(savedSupplier);
         } catch (IllegalArgumentException e) {
@@ -133,6 +140,7 @@ public class SupplierService {
             supplier.setIsActive(false);
             supplierRepository.save(supplier);
             logger.info("Supplier deleted successfully with id: {}", id);
+            eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SUPPLIER, id));
         } catch (Exception e) {
             logger.error("Error deleting supplier with id {}: ", id, e);
             throw new RuntimeException("Failed to delete supplier", e);
@@ -160,5 +168,6 @@ public class SupplierService {
         supplierRepository.save(supplier);
 
         logger.info("Recorded payment of {} for supplier: {}", amount, supplier.getName());
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.SUPPLIER, supplierId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package org.example.inventorymanagementbackend.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.example.inventorymanagementbackend.exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+
+/**
+ * Transaction Retry Executor
+ * Runs a unit of work in its own transaction and re-runs it with bounded,
+ * jittered exponential backoff when it loses an optimistic or pessimistic lock race.
+ */
+@Component
+public class TransactionRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRetryExecutor.class);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${app.retry.initial-backoff-ms:25}")
+    private long initialBackoffMs;
+
+    @Value("${app.retry.max-backoff-ms:400}")
+    private long maxBackoffMs;
+
+    @Value("${app.retry.write-permits:8}")
+    private int writePermitCount;
+
+    @Value("${app.retry.write-permit-timeout-ms:${spring.datasource.hikari.connection-timeout:30000}}")
+    private long writePermitTimeoutMs;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    // Pooled table ids are allocated on a second, isolated connection while the transaction holds
+    // its own. If every pooled connection belonged to a writer waiting for an id block, none could
+    // proceed, so writers are capped below the pool size. Every path that inserts an entity with
+    // pooled ids must therefore run through this executor.
+    private Semaphore writePermits;
+
+    @PostConstruct
+    public void init() {
+        if (writePermitCount >= connectionPoolSize) {
+            logger.warn("app.retry.write-permits ({}) should be below the connection pool size ({})",
+                    writePermitCount, connectionPoolSize);
+        }
+        writePermits = new Semaphore(Math.max(writePermitCount, 1), true);
+    }
+
+    /**
+     * Execute the action in a new transaction, retrying on concurrency conflicts.
+     * When a transaction is already active the action joins it and runs once,
+     * because only the outermost transaction can be safely re-run.
+     */
+    public <T> T execute(String operation, Isolation isolation, Supplier<T> action) {
+        return run(operation, isolation, action, true);
+    }
+
+    /**
+     * Like execute, but without taking a write permit. Only for work that inserts no
+     * entities with pooled ids, such as long maintenance jobs that would otherwise hold
+     * permits checkout needs.
+     */
+    public <T> T executeUncapped(String operation, Isolation isolation, Supplier<T> action) {
+        return run(operation, isolation, action, false);
+    }
+
+    private <T> T run(String operation, Isolation isolation, Supplier<T> action, boolean capped) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(isolation.value());
+
+        int attempt = 1;
+        while (true) {
+            if (capped) {
+                acquireWritePermit();
+            }
+            try {
+                return template.execute(status -> action.get());
+            } catch (RuntimeException e) {
+                if (!isRetryable(e) || attempt >= maxAttempts) {
+                    if (isRetryable(e)) {
+                        logger.warn("{} failed after {} attempts due to concurrent updates", operation, attempt);
+                    }
+                    throw e;
+                }
+                logger.debug("{} hit a concurrent update (attempt {}/{}): {}",
+                        operation, attempt, maxAttempts, e.getMessage());
+            } finally {
+                if (capped) {
+                    writePermits.release();
+                }
+            }
+
+            // Back off without a permit so a waiting writer can use the slot meanwhile
+            sleep(backoffFor(attempt));
+            attempt++;
+        }
+    }
+
+    /**
+     * True if the exception or any of its causes is a lock conflict
+     */
+    public static boolean isRetryable(Throwable e) {
+        Throwable current = e;
+        while (current != null) {
+            if (current instanceof ConcurrencyFailureException
+                    || current instanceof OptimisticLockException
+                    || current instanceof PessimisticLockException
+                    || current instanceof LockTimeoutException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+
+    private long backoffFor(int attempt) {
+        long exponential = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        // Jitter keeps competing retries from colliding again in lockstep
+        return ThreadLocalRandom.current().nextLong(exponential / 2, exponential + 1);
+    }
+
+    /**
+     * Wait for a write permit as long as for a pooled connection, then give up
+     */
+    private void acquireWritePermit() {
+        try {
+            if (!writePermits.tryAcquire(writePermitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Too many concurrent writes, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.inventorymanagementbackend.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP Load Benchmark
+ * Closed-loop GET load against a running instance; prints throughput and latency percentiles.
+ * Used to compare the platform-thread default with the "virtual" profile:
+ *
+ *   java -cp target/test-classes org.example.inventorymanagementbackend.load.HttpLoadBenchmark
+ *
+ * Settings (system properties): bench.url, bench.paths (comma separated), bench.concurrency,
+ * bench.warmup-seconds, bench.seconds, bench.username / bench.password (login for a bearer token, empty to skip).
+ */
+public class HttpLoadBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("bench.url", "http://localhost:8080");
+        List<String> paths = Arrays.asList(System.getProperty("bench.paths",
+                "/api/dashboard/summary,/api/sales,/api/inventory?limit=50").split(","));
+        int concurrency = Integer.getInteger("bench.concurrency", 200);
+        int warmupSeconds = Integer.getInteger("bench.warmup-seconds", 10);
+        int seconds = Integer.getInteger("bench.seconds", 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        String token = login(client, baseUrl,
+                System.getProperty("bench.username", "admin"), System.getProperty("bench.password", "admin123"));
+
+        run(client, baseUrl, paths, token, concurrency, warmupSeconds, null);
+        LatencyRecorder result = new LatencyRecorder();
+        run(client, baseUrl, paths, token, concurrency, seconds, result);
+        System.out.println("concurrency=" + concurrency + " " + result.summary(seconds));
+        System.exit(0);
+    }
+
+    private static void run(HttpClient client, String baseUrl, List<String> paths, String token,
+                            int concurrency, int seconds, LatencyRecorder result) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int w = 0; w < concurrency; w++) {
+            int offset = w;
+            futures.add(workers.submit(() -> {
+                int i = offset;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(i++ % paths.size())))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET();
+                    if (token != null) {
+                        request.header("Authorization", "Bearer " + token);
+                    }
+
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (result != null) {
+                        result.record(System.nanoTime() - start, status);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+    }
+
+    private static String login(HttpClient client, String baseUrl, String username, String password) throws Exception {
+        if (username == null || username.isEmpty()) {
+            return null;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        Matcher matcher = TOKEN.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.inventorymanagementbackend.load;
+
+import java.util.Arrays;
+
+/**
+ * Latency Recorder
+ * Collects request latencies and outcome counts for one load phase and reports percentiles.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[16_384];
+    private int count;
+    private long rejected;
+    private long errors;
+
+    /**
+     * @param status HTTP status, or -1 when the request failed without a response
+     */
+    synchronized void record(long nanos, int status) {
+        if (status < 0 || status >= 500) {
+            errors++;
+            return;
+        }
+        if (status >= 400) {
+            rejected++;
+        }
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized long getRejected() {
+        return rejected;
+    }
+
+    synchronized long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Latency in milliseconds at the given quantile (0..1) of answered requests
+     */
+    synchronized double percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(count - 1, Math.ceil(p * count) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    String summary(double seconds) {
+        return String.format("requests=%d rejected(4xx)=%d errors=%d throughput=%.1f req/s "
+                        + "latency ms p50=%.2f p95=%.2f p99=%.2f max=%.2f",
+                getCount(), getRejected(), getErrors(), getCount() / seconds,
+                percentile(0.50), percentile(0.95), percentile(0.99), percentile(1.0));
+    }
+}
@@ -0,0 +1,312 @@
+package org.example.inventorymanagementbackend.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.example.inventorymanagementbackend.config.IdGeneratorAligner;
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
+import org.example.inventorymanagementbackend.service.SalesRollupService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end load test
+ * Boots the application on a file-backed H2 database seeded with a production-sized dataset,
+ * drives concurrent sale, dashboard and inventory traffic over HTTP and reports throughput,
+ * latency percentiles and SQL statements per request for each phase. Fails if the run leaves
+ * oversold products, negative stock or a stock projection that disagrees with its batches.
+ *
+ * Excluded from the normal build; run with: mvn -Pload test
+ * Scale and duration (system properties): load.products, load.batches-per-product, load.sales,
+ * load.customers, load.hot-products, load.concurrency, load.seconds, load.db-url.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${load.db-url:jdbc:h2:file:./target/loadtest/db;DB_CLOSE_ON_EXIT=FALSE}",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.root=WARN",
+        "logging.level.org.example=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int PRODUCTS = Integer.getInteger("load.products", 100_000);
+    private static final int BATCHES_PER_PRODUCT = Integer.getInteger("load.batches-per-product", 100);
+    private static final int SALES = Integer.getInteger("load.sales", 1_000_000);
+    private static final int CUSTOMERS = Integer.getInteger("load.customers", 5_000);
+    private static final int SUPPLIERS = 200;
+    // Products with only a few units left, so concurrent sales race for the last units
+    private static final int HOT_PRODUCTS = Integer.getInteger("load.hot-products", 20);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 60);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IdGeneratorAligner idGeneratorAligner;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+
+    @BeforeAll
+    void seed() {
+        long start = System.currentTimeMillis();
+        seedReferenceData();
+        seedInventory();
+        seedSales();
+
+        // Projection, rollups and id generators are normally kept current by the services
+        jdbcTemplate.update("INSERT INTO product_stock (product_id, on_hand, reserved, open_batch_count, "
+                + "oldest_open_batch_date, fifo_cost_value, updated_at, version) "
+                + "SELECT product_id, SUM(quantity), 0, COUNT(*), MIN(date), SUM(quantity * unit_price), CURRENT_TIMESTAMP, 0 "
+                + "FROM inventory WHERE movement_type = 'IN' AND quantity > 0 GROUP BY product_id");
+        salesRollupService.rebuild(LocalDate.now().minusDays(365), LocalDate.now());
+        idGeneratorAligner.afterSingletonsInstantiated();
+        eventPublisher.publishEvent(new DomainChangeEvent(DomainChangeEvent.Type.INVENTORY, null));
+
+        logger.warn("Seeded {} products, {} inventory rows, {} sales in {} s", PRODUCTS,
+                (long) PRODUCTS * BATCHES_PER_PRODUCT, SALES, (System.currentTimeMillis() - start) / 1000);
+    }
+
+    @Test
+    void concurrentTrafficKeepsStockConsistent() throws Exception {
+        Map<String, Supplier<HttpRequest>> phases = new LinkedHashMap<>();
+        phases.put("sales", this::saleRequest);
+        phases.put("dashboard", this::dashboardRequest);
+        phases.put("inventory", this::inventoryRequest);
+        phases.put("mixed", () -> {
+            int pick = ThreadLocalRandom.current().nextInt(10);
+            return pick < 4 ? saleRequest() : pick < 7 ? dashboardRequest() : inventoryRequest();
+        });
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        StringBuilder report = new StringBuilder("\n=== Load test: ").append(CONCURRENCY)
+                .append(" clients, ").append(SECONDS).append(" s per phase ===\n");
+
+        for (Map.Entry<String, Supplier<HttpRequest>> phase : phases.entrySet()) {
+            run(phase.getValue(), Math.max(SECONDS / 6, 1), null);
+
+            statistics.clear();
+            LatencyRecorder recorder = new LatencyRecorder();
+            run(phase.getValue(), SECONDS, recorder);
+            double statementsPerRequest = recorder.getCount() > 0
+                    ? statistics.getPrepareStatementCount() / (double) recorder.getCount() : 0;
+
+            report.append(String.format("%-10s %s statements/request=%.1f%n",
+                    phase.getKey(), recorder.summary(SECONDS), statementsPerRequest));
+        }
+
+        Map<String, Long> violations = findViolations();
+        report.append("violations: ").append(violations);
+        logger.warn(report.toString());
+
+        violations.forEach((check, count) -> assertEquals(0L, count, check));
+    }
+
+    private void seedReferenceData() {
+        jdbcTemplate.update("INSERT INTO suppliers (id, unique_supplier_code, name, is_active, created_at, "
+                + "outstanding_balance, total_purchases, total_paid) "
+                + "SELECT X, 'LS' || X, 'Load Supplier ' || X, TRUE, CURRENT_TIMESTAMP, 0, 0, 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", SUPPLIERS);
+        jdbcTemplate.update("INSERT INTO customers (id, name, is_active, created_at, credit_limit, outstanding_balance) "
+                + "SELECT X, 'Load Customer ' || X, TRUE, CURRENT_TIMESTAMP, 0, 0 FROM SYSTEM_RANGE(1, ?)", CUSTOMERS);
+
+        // Older half of each product's batches is sold out, the newer half is open
+        int openBatches = BATCHES_PER_PRODUCT - BATCHES_PER_PRODUCT / 2;
+        jdbcTemplate.update("INSERT INTO products (id, code, name, fixed_price, discount, current_stock, "
+                + "low_stock_threshold, is_active, created_at, version) "
+                + "SELECT X, 'LP' || X, 'Load Product ' || X, 20.00, 0, "
+                + "CASE WHEN X <= ? THEN ? ELSE ? END, 5, TRUE, CURRENT_TIMESTAMP, 0 FROM SYSTEM_RANGE(1, ?)",
+                HOT_PRODUCTS, openBatches, openBatches * 10, PRODUCTS);
+    }
+
+    private void seedInventory() {
+        int soldOut = BATCHES_PER_PRODUCT / 2;
+        // One statement per block of products keeps H2's undo log small
+        int productsPerStatement = Math.max(1, 200_000 / BATCHES_PER_PRODUCT);
+        for (int first = 1; first <= PRODUCTS; first += productsPerStatement) {
+            int last = Math.min(first + productsPerStatement - 1, PRODUCTS);
+            jdbcTemplate.update("INSERT INTO inventory (id, product_id, supplier_id, movement_type, quantity, "
+                    + "received_quantity, unit_price, purchase_price, date, created_at, reference, version) "
+                    + "SELECT (p.X - 1) * ? + b.X, p.X, MOD(p.X, ?) + 1, 'IN', "
+                    + "CASE WHEN b.X <= ? THEN 0 WHEN p.X <= ? THEN 1 ELSE 10 END, "
+                    + "CASE WHEN b.X > ? AND p.X <= ? THEN 1 ELSE 10 END, 7.50, 7.50, "
+                    + "DATEADD('DAY', b.X - ? - 1, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP, 'GRN-' || p.X || '-' || b.X, 0 "
+                    + "FROM SYSTEM_RANGE(?, ?) p, SYSTEM_RANGE(1, ?) b",
+                    BATCHES_PER_PRODUCT, SUPPLIERS, soldOut, HOT_PRODUCTS, soldOut, HOT_PRODUCTS,
+                    BATCHES_PER_PRODUCT, first, last, BATCHES_PER_PRODUCT);
+        }
+    }
+
+    private void seedSales() {
+        // One single-unit line per sale, drawn from the product's first (sold-out) batch
+        for (int first = 1; first <= SALES; first += 200_000) {
+            int last = Math.min(first + 199_999, SALES);
+            jdbcTemplate.update("INSERT INTO sales (id, customer_id, sale_date, total_amount, payment_method, "
+                    + "is_paid, check_bounced, created_at) "
+                    + "SELECT X, MOD(X, ?) + 1, DATEADD('DAY', -MOD(X, 365), CURRENT_TIMESTAMP), 20.00, 'CASH', "
+                    + "TRUE, FALSE, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)", CUSTOMERS, first, last);
+            jdbcTemplate.update("INSERT INTO sale_items (id, sale_id, product_id, quantity, unit_price, discount, "
+                    + "line_total, inventory_id, inventory_unit_price, inventory_date, created_at) "
+                    + "SELECT X, X, MOD(X, ?) + 1, 1, 20.00, 0, 20.00, MOD(X, ?) * ? + 1, 7.50, "
+                    + "DATEADD('DAY', -?, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)",
+                    PRODUCTS, PRODUCTS, BATCHES_PER_PRODUCT, BATCHES_PER_PRODUCT, first, last);
+        }
+    }
+
+    private HttpRequest saleRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder items = new StringBuilder();
+        int lines = random.nextInt(1, 4);
+        for (int i = 0; i < lines; i++) {
+            // Half of the lines compete for the hot products
+            long productId = random.nextBoolean()
+                    ? random.nextInt(1, HOT_PRODUCTS + 1) : random.nextInt(1, PRODUCTS + 1);
+            items.append(i > 0 ? "," : "")
+                    .append("{\"productId\":").append(productId)
+                    .append(",\"quantity\":").append(random.nextInt(1, 4))
+                    .append(",\"unitPrice\":20.00}");
+        }
+        String body = "{\"customerId\":" + random.nextInt(1, CUSTOMERS + 1)
+                + ",\"paymentMethod\":\"CASH\",\"saleItems\":[" + items + "]}";
+        return HttpRequest.newBuilder(uri("/api/sales"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest dashboardRequest() {
+        String[] paths = {"/api/dashboard/summary", "/api/dashboard/low-stock-alerts",
+                "/api/dashboard/top-products", "/api/dashboard/sales-vs-purchases"};
+        return get(paths[ThreadLocalRandom.current().nextInt(paths.length)]);
+    }
+
+    private HttpRequest inventoryRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (random.nextInt(4)) {
+            case 0:
+                return get("/api/inventory?limit=50");
+            case 1:
+                return get("/api/inventory?limit=50&productId=" + random.nextInt(1, PRODUCTS + 1));
+            case 2:
+                return get("/api/inventory/available-stock/" + random.nextInt(1, PRODUCTS + 1));
+            default:
+                return get("/api/inventory/summary");
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void run(Supplier<HttpRequest> requests, int seconds, LatencyRecorder recorder) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < CONCURRENCY; w++) {
+            futures.add(workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(requests.get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (recorder != null) {
+                        recorder.record(System.nanoTime() - start, status);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+    }
+
+    /**
+     * Count of rows breaking each stock invariant; all must be zero
+     */
+    private Map<String, Long> findViolations() {
+        Map<String, Long> violations = new LinkedHashMap<>();
+        violations.put("negativeBatches", count("SELECT COUNT(*) FROM inventory WHERE quantity < 0"));
+        violations.put("negativeProductStock", count("SELECT COUNT(*) FROM products WHERE current_stock < 0"));
+        violations.put("oversoldProducts", count("SELECT COUNT(*) FROM ("
+                + "SELECT si.product_id FROM sale_items si GROUP BY si.product_id "
+                + "HAVING SUM(si.quantity) > (SELECT COALESCE(SUM(i.received_quantity), 0) FROM inventory i "
+                + "WHERE i.product_id = si.product_id AND i.movement_type = 'IN')) t"));
+        violations.put("projectionDrift", count("SELECT COUNT(*) FROM product_stock s LEFT JOIN ("
+                + "SELECT product_id, SUM(quantity) AS on_hand FROM inventory "
+                + "WHERE movement_type = 'IN' AND quantity > 0 GROUP BY product_id) b ON b.product_id = s.product_id "
+                + "WHERE s.on_hand <> COALESCE(b.on_hand, 0)"));
+        violations.put("productStockMismatch", count("SELECT COUNT(*) FROM products p "
+                + "JOIN product_stock s ON s.product_id = p.id WHERE p.current_stock <> s.on_hand"));
+        return violations;
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+}
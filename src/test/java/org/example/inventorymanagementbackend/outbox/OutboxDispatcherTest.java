@@ -0,0 +1,114 @@
+package org.example.inventorymanagementbackend.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.inventorymanagementbackend.entity.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxDispatcherTest {
+
+    private final OutboxDispatcher dispatcher = new OutboxDispatcher();
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+
+    private final OutboxSink first = mock(OutboxSink.class);
+
+    private final OutboxSink second = mock(OutboxSink.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(first.getName()).thenReturn("first");
+        when(second.getName()).thenReturn("second");
+        ReflectionTestUtils.setField(dispatcher, "outboxService", outboxService);
+        ReflectionTestUtils.setField(dispatcher, "sinks", List.of(first, second));
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 3);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchesPerPoll", 5);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 4);
+    }
+
+    @Test
+    void batchAcceptedByEverySinkIsMarkedPublished() throws Exception {
+        when(outboxService.findPending(3, 4)).thenReturn(events(11L, 12L));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        verify(first).publish(anyList());
+        verify(second).publish(anyList());
+        verify(outboxService).markPublished(List.of(11L, 12L));
+        verify(outboxService, never()).markFailed(anyCollection(), anyString());
+        assertEquals(2.0, meterRegistry.counter("outbox.published").count());
+    }
+
+    @Test
+    void batchRejectedByOneSinkIsMarkedFailedAndNotPublished() throws Exception {
+        when(outboxService.findPending(3, 4)).thenReturn(events(11L, 12L, 13L));
+        doThrow(new IOException("disk full")).when(second).publish(anyList());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        // The first sink already saw the batch; it gets it again on retry
+        verify(first).publish(anyList());
+        verify(outboxService).markFailed(List.of(11L, 12L, 13L), "second: disk full");
+        verify(outboxService, never()).markPublished(anyCollection());
+        assertEquals(1.0, meterRegistry.counter("outbox.sink.failures", "sink", "second").count());
+    }
+
+    @Test
+    void failingFirstSinkStopsTheBatch() throws Exception {
+        when(outboxService.findPending(3, 4)).thenReturn(events(11L));
+        doThrow(new IllegalStateException("down")).when(first).publish(anyList());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verify(second, never()).publish(anyList());
+        verify(outboxService).markFailed(List.of(11L), "first: down");
+        verify(outboxService, never()).markPublished(anyCollection());
+    }
+
+    @Test
+    void pollDrainsFullBatchesAndStopsAtAFailure() throws Exception {
+        when(outboxService.findPending(3, 4))
+                .thenReturn(events(1L, 2L, 3L))
+                .thenReturn(events(4L, 5L, 6L));
+        doThrow(new IOException("disk full")).doNothing().when(second).publish(anyList());
+
+        dispatcher.poll();
+
+        // A failed batch ends the poll rather than being retried immediately
+        verify(outboxService, times(1)).findPending(anyInt(), anyInt());
+        verify(outboxService).markFailed(List.of(1L, 2L, 3L), "second: disk full");
+        verify(outboxService, never()).markPublished(anyCollection());
+    }
+
+    private static List<OutboxEvent> events(Long... ids) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (Long id : ids) {
+            OutboxEvent event = new OutboxEvent("sale.created", "SALE", id, "{}");
+            ReflectionTestUtils.setField(event, "id", id);
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.inventorymanagementbackend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+
+class JwtTokenProviderTest {
+
+    private final JwtTokenProvider provider = new JwtTokenProvider();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(provider, "jwtSecret", "testSecretKeyThatIsAtLeast32CharactersLongForHS256");
+        ReflectionTestUtils.setField(provider, "jwtExpirationTime", 60_000L);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheSize", 2);
+        provider.init();
+    }
+
+    @Test
+    void cachedTokenReturnsTheSameClaims() {
+        String token = token("alice", "ROLE_ADMIN");
+
+        Claims first = provider.parseAndValidate(token);
+        Claims second = provider.parseAndValidate(token);
+
+        assertEquals("alice", second.getSubject());
+        assertEquals(List.of("ROLE_ADMIN"), provider.getRoles(second));
+        assertEquals(first.getExpiration(), second.getExpiration());
+    }
+
+    @Test
+    void changesToReturnedClaimsDoNotLeakIntoTheCache() {
+        String token = token("alice", "ROLE_ADMIN");
+        provider.parseAndValidate(token);
+
+        Claims hit = provider.parseAndValidate(token);
+        hit.setSubject("mallory");
+        hit.put(JwtTokenProvider.ROLES_CLAIM, List.of("ROLE_ROOT"));
+
+        Claims next = provider.parseAndValidate(token);
+        assertNotSame(hit, next);
+        assertEquals("alice", next.getSubject());
+        assertEquals(List.of("ROLE_ADMIN"), provider.getRoles(next));
+    }
+
+    @Test
+    void cacheStaysWithinItsBound() {
+        for (int i = 0; i < 20; i++) {
+            provider.parseAndValidate(token("user" + i, "ROLE_USER"));
+        }
+
+        assertTrue(provider.verifiedTokenCount() <= 2);
+    }
+
+    @Test
+    void invalidTokenIsRejected() {
+        String token = token("alice", "ROLE_ADMIN");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(provider.parseAndValidate(tampered));
+        assertNull(provider.parseAndValidate("not-a-jwt"));
+    }
+
+    private String token(String username, String role) {
+        UserDetails user = User.withUsername(username).password("").authorities(role).build();
+        return provider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
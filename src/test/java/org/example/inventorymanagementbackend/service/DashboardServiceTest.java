@@ -0,0 +1,109 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.example.inventorymanagementbackend.event.DomainChangeEvent;
+import org.example.inventorymanagementbackend.repository.CustomerRepository;
+import org.example.inventorymanagementbackend.repository.DailyCustomerSalesRepository;
+import org.example.inventorymanagementbackend.repository.InventoryRepository;
+import org.example.inventorymanagementbackend.repository.ProductRepository;
+import org.example.inventorymanagementbackend.repository.SaleRepository;
+import org.example.inventorymanagementbackend.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private DailyCustomerSalesRepository dailyCustomerSalesRepository;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardService, "maxStalenessMs", 60_000L);
+        ReflectionTestUtils.setField(dashboardService, "maxAgeMs", 300_000L);
+    }
+
+    @Test
+    void writesAloneNeverRebuild() {
+        dashboardService.getDashboardSummary();
+
+        for (int i = 0; i < 50; i++) {
+            dashboardService.onDomainChange(new DomainChangeEvent(DomainChangeEvent.Type.SALE, (long) i));
+        }
+
+        assertEquals(1, dashboardService.getCacheStats().getRebuilds());
+    }
+
+    @Test
+    void staleSnapshotIsServedWithinTheWindow() {
+        dashboardService.getDashboardSummary();
+        dashboardService.onDomainChange(new DomainChangeEvent(DomainChangeEvent.Type.SALE, 1L));
+
+        dashboardService.getDashboardSummary();
+        dashboardService.getTopSellingProducts();
+
+        assertEquals(1, dashboardService.getCacheStats().getRebuilds());
+        assertTrue(dashboardService.getCacheStats().getStale());
+    }
+
+    @Test
+    void firstReadPastTheWindowRebuildsOnce() {
+        ReflectionTestUtils.setField(dashboardService, "maxStalenessMs", 0L);
+        dashboardService.getDashboardSummary();
+        for (int i = 0; i < 5; i++) {
+            dashboardService.onDomainChange(new DomainChangeEvent(DomainChangeEvent.Type.SALE, (long) i));
+        }
+        sleepPastWindow();
+
+        dashboardService.getDashboardSummary();
+        dashboardService.getLowStockAlerts();
+
+        // All five changes are picked up by one rebuild, and the result is current
+        assertEquals(2, dashboardService.getCacheStats().getRebuilds());
+        assertFalse(dashboardService.getCacheStats().getStale());
+    }
+
+    private static void sleepPastWindow() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
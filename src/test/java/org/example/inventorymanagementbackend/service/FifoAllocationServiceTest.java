@@ -0,0 +1,95 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.example.inventorymanagementbackend.dto.request.SaleItemRequest;
+import org.example.inventorymanagementbackend.entity.Inventory;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.AllocationPlan;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.LineAllocation;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
+import org.junit.jupiter.api.Test;
+
+class FifoAllocationServiceTest {
+
+    private final FifoAllocationService service = new FifoAllocationService();
+
+    @Test
+    void repeatedLinesDrawFromSameBatchesInOrder() {
+        Product product = product(1L, 10);
+        List<Inventory> batches = new ArrayList<>();
+        batches.add(batch(100L, product, 4, LocalDateTime.now().minusDays(2)));
+        batches.add(batch(101L, product, 6, LocalDateTime.now().minusDays(1)));
+        StockSnapshot snapshot = new StockSnapshot(Map.of(1L, product), Map.of(1L, batches));
+
+        AllocationPlan plan = service.plan(snapshot, List.of(line(1L, 3), line(1L, 5)));
+
+        assertTrue(plan.isFulfilled());
+        LineAllocation second = plan.getLines().get(1);
+        assertEquals(2, second.getSlices().size());
+        assertEquals(100L, second.getSlices().get(0).getBatch().getId());
+        assertEquals(1, second.getSlices().get(0).getQuantity());
+        assertEquals(4, second.getSlices().get(1).getQuantity());
+        assertEquals(8, plan.getQuantityByProduct().get(1L));
+        // Planning must not touch the loaded batches
+        assertEquals(4, batches.get(0).getQuantity());
+    }
+
+    @Test
+    void combinedQuantityAboveAvailableIsReportedOnce() {
+        Product product = product(1L, 10);
+        StockSnapshot snapshot = new StockSnapshot(Map.of(1L, product),
+                Map.of(1L, List.of(batch(100L, product, 5, LocalDateTime.now()))));
+
+        AllocationPlan plan = service.plan(snapshot, List.of(line(1L, 3), line(1L, 3), line(2L, 1)));
+
+        assertFalse(plan.isFulfilled());
+        assertEquals(1, plan.getShortfalls().size());
+        assertEquals(List.of(2L), plan.getMissingProductIds());
+    }
+
+    @Test
+    void reservedUnitsAreNotAllocatedUntilReleased() {
+        Product product = product(1L, 10);
+        StockSnapshot snapshot = new StockSnapshot(Map.of(1L, product),
+                Map.of(1L, List.of(batch(100L, product, 10, LocalDateTime.now()))));
+        snapshot.setReservedQuantity(1L, 7);
+
+        assertFalse(service.plan(snapshot, List.of(line(1L, 4))).isFulfilled());
+        assertTrue(service.plan(snapshot, List.of(line(1L, 3))).isFulfilled());
+
+        // Converting the reservation hands its units to the sale
+        snapshot.releaseReserved(1L, 7);
+        assertTrue(service.plan(snapshot, List.of(line(1L, 10))).isFulfilled());
+    }
+
+    private Product product(Long id, int currentStock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCode("P" + id);
+        product.setName("Product " + id);
+        product.setCurrentStock(currentStock);
+        return product;
+    }
+
+    private Inventory batch(Long id, Product product, int quantity, LocalDateTime date) {
+        Inventory batch = new Inventory();
+        batch.setId(id);
+        batch.setProduct(product);
+        batch.setQuantity(quantity);
+        batch.setDate(date);
+        return batch;
+    }
+
+    private SaleItemRequest line(Long productId, int quantity) {
+        return new SaleItemRequest(productId, quantity, BigDecimal.TEN);
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.example.inventorymanagementbackend.dto.request.InventoryRequest;
+import org.example.inventorymanagementbackend.entity.Inventory;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.mapper.InventoryMapper;
+import org.example.inventorymanagementbackend.metrics.OperationMetrics;
+import org.example.inventorymanagementbackend.outbox.OutboxService;
+import org.example.inventorymanagementbackend.repository.InventoryRepository;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryMapper inventoryMapper;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private FifoAllocationService fifoAllocationService;
+
+    @Mock
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @Mock
+    private OperationMetrics operationMetrics;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private InventoryService inventoryService;
+
+    private Product product;
+    private Inventory older;
+    private Inventory newer;
+    private StockSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setId(PRODUCT_ID);
+        product.setCurrentStock(10);
+        LocalDateTime now = LocalDateTime.now();
+        older = batch(11L, 6, now.minusDays(2));
+        newer = batch(12L, 4, now.minusDays(1));
+        snapshot = new StockSnapshot(Map.of(PRODUCT_ID, product), Map.of(PRODUCT_ID, List.of(older, newer)));
+
+        // Run the unit of work directly, as the executor and timer would
+        lenient().when(operationMetrics.time(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        lenient().when(transactionRetryExecutor.execute(anyString(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(2)).get());
+        lenient().when(fifoAllocationService.lockSnapshot(List.of(PRODUCT_ID))).thenReturn(snapshot);
+        // Planning is pure, so the real allocation is used against the mocked snapshot
+        lenient().when(fifoAllocationService.plan(any(), anyList())).thenCallRealMethod();
+        lenient().when(productService.getProductEntityById(PRODUCT_ID)).thenReturn(product);
+        // The projection still shows the stock from before the movement
+        lenient().when(productStockService.getAvailableQuantity(PRODUCT_ID)).thenReturn(10);
+        lenient().when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void outMovementDrainsOldestBatchesFirst() {
+        inventoryService.recordInventoryMovement(outMovement(7));
+
+        assertEquals(0, older.getQuantity());
+        assertEquals(3, newer.getQuantity());
+        verify(inventoryRepository).saveAll(List.of(older, newer));
+        verify(productService).updateProductStock(PRODUCT_ID, 7, false);
+        assertEquals(Map.of(PRODUCT_ID, 7), snapshot.getAllocatedByProduct());
+        // The projection is refreshed from the drained snapshot, not reloaded
+        verify(productStockService).refresh(snapshot);
+        verify(productStockService, never()).refresh(anyCollection());
+    }
+
+    @Test
+    void outMovementWithinOneBatchLeavesLaterBatchesAlone() {
+        inventoryService.recordInventoryMovement(outMovement(2));
+
+        assertEquals(4, older.getQuantity());
+        assertEquals(4, newer.getQuantity());
+        verify(inventoryRepository).saveAll(List.of(older));
+    }
+
+    @Test
+    void outMovementAboveAvailableStockIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.recordInventoryMovement(outMovement(11)));
+
+        assertEquals(6, older.getQuantity());
+        assertEquals(4, newer.getQuantity());
+        verify(inventoryRepository, never()).saveAll(anyList());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+        verify(productService, never()).updateProductStock(anyLong(), anyInt(), anyBoolean());
+        verify(productStockService, never()).refresh(any(StockSnapshot.class));
+    }
+
+    @Test
+    void outMovementOfUnknownProductIsRejected() {
+        when(fifoAllocationService.lockSnapshot(List.of(PRODUCT_ID)))
+                .thenReturn(new StockSnapshot(Map.of(), Map.of()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryService.recordInventoryMovement(outMovement(1)));
+
+        verify(inventoryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void updateLocksProductBeforeReadingTheBatch() {
+        older.setProduct(product);
+        when(inventoryRepository.findProductIdById(11L)).thenReturn(Optional.of(PRODUCT_ID));
+        when(inventoryRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(older));
+
+        InventoryRequest request = outMovement(8);
+        request.setMovementType("IN");
+        inventoryService.updateInventory(11L, request);
+
+        InOrder order = inOrder(fifoAllocationService, inventoryRepository, productService);
+        order.verify(fifoAllocationService).lockProducts(List.of(PRODUCT_ID));
+        order.verify(inventoryRepository).findByIdForUpdate(11L);
+        order.verify(inventoryRepository).save(older);
+        order.verify(productService).updateProductStock(PRODUCT_ID, 2, true);
+        verify(inventoryRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void deleteLocksProductBeforeReadingTheBatch() {
+        newer.setProduct(product);
+        when(inventoryRepository.findProductIdById(12L)).thenReturn(Optional.of(PRODUCT_ID));
+        when(inventoryRepository.findByIdForUpdate(12L)).thenReturn(Optional.of(newer));
+
+        inventoryService.deleteInventory(12L);
+
+        InOrder order = inOrder(fifoAllocationService, inventoryRepository, productService);
+        order.verify(fifoAllocationService).lockProducts(List.of(PRODUCT_ID));
+        order.verify(inventoryRepository).findByIdForUpdate(12L);
+        order.verify(productService).updateProductStock(PRODUCT_ID, 4, false);
+        order.verify(inventoryRepository).delete(newer);
+    }
+
+    @Test
+    void lockConflictIsNotWrappedSoItCanBeRetried() {
+        older.setProduct(product);
+        when(inventoryRepository.findProductIdById(11L)).thenReturn(Optional.of(PRODUCT_ID));
+        when(inventoryRepository.findByIdForUpdate(11L)).thenReturn(Optional.of(older));
+        when(inventoryRepository.save(older)).thenThrow(new CannotAcquireLockException("deadlock"));
+
+        InventoryRequest request = outMovement(8);
+        request.setMovementType("IN");
+
+        assertThrows(CannotAcquireLockException.class, () -> inventoryService.updateInventory(11L, request));
+    }
+
+    @Test
+    void missingBatchIsNotLocked() {
+        when(inventoryRepository.findProductIdById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(InventoryService.InventoryValidationException.class, () -> inventoryService.deleteInventory(99L));
+
+        verify(fifoAllocationService, never()).lockProducts(anyCollection());
+    }
+
+    private static Inventory batch(Long id, int quantity, LocalDateTime date) {
+        Inventory batch = new Inventory();
+        batch.setId(id);
+        batch.setQuantity(quantity);
+        batch.setUnitPrice(BigDecimal.valueOf(5));
+        batch.setMovementType(Inventory.MovementType.IN);
+        batch.setDate(date);
+        return batch;
+    }
+
+    private static InventoryRequest outMovement(int quantity) {
+        InventoryRequest request = new InventoryRequest();
+        request.setProductId(PRODUCT_ID);
+        request.setMovementType("OUT");
+        request.setQuantity(quantity);
+        request.setUnitPrice(5.0);
+        request.setDate(LocalDateTime.now());
+        return request;
+    }
+}
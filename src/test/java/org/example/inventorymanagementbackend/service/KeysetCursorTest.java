@@ -0,0 +1,67 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000);
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(timestamp, 42L).encode());
+
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void wholeMinuteTimestampSurvivesTheRoundTrip() {
+        // LocalDateTime prints no seconds for a whole minute
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 14, 9, 0);
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(timestamp, 7L).encode());
+
+        assertEquals(timestamp, decoded.getTimestamp());
+        assertEquals(7L, decoded.getId());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String cursor = new KeysetCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53), Long.MAX_VALUE).encode();
+
+        assertFalse(cursor.matches(".*[+/=].*"));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode("  "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "bm90LWEtY3Vyc29y", "MjAyNi0wMy0xNFQwOToyNg"})
+    void malformedCursorIsRejected(String cursor) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor));
+
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    @Test
+    void cursorWithNonNumericIdIsRejected() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2026-03-14T09:26|abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductService service;
+
+    @Test
+    void decrementWithinStockIsApplied() {
+        when(productRepository.decrementStockIfAvailable(1L, 3)).thenReturn(1);
+
+        service.updateProductStock(1L, 3, false);
+
+        verify(eventPublisher).publishEvent(any(Object.class));
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void decrementAboveStockIsRejectedAsInsufficient() {
+        when(productRepository.decrementStockIfAvailable(1L, 30)).thenReturn(0);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, true)));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.updateProductStock(1L, 30, false));
+
+        assertEquals("Insufficient stock", e.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void decrementOfMissingProductIsReportedAsNotFound() {
+        when(productRepository.decrementStockIfAvailable(9L, 1)).thenReturn(0);
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service.updateProductStock(9L, 1, false));
+
+        assertEquals("Product not found with id: 9", e.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void decrementOfInactiveProductIsReportedAsNotFound() {
+        when(productRepository.decrementStockIfAvailable(2L, 1)).thenReturn(0);
+        when(productRepository.findById(2L)).thenReturn(Optional.of(product(2L, false)));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service.updateProductStock(2L, 1, false));
+
+        assertEquals("Product not found with id: 2", e.getMessage());
+    }
+
+    @Test
+    void negativeQuantityIsRejectedBeforeAnyUpdate() {
+        assertThrows(IllegalArgumentException.class, () -> service.updateProductStock(1L, -1, false));
+
+        verify(productRepository, never()).decrementStockIfAvailable(anyLong(), anyInt());
+        verify(productRepository, never()).incrementStock(anyLong(), anyInt());
+    }
+
+    private static Product product(Long id, boolean active) {
+        Product product = new Product();
+        product.setId(id);
+        product.setIsActive(active);
+        return product;
+    }
+}
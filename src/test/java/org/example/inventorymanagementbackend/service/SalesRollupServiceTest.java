@@ -0,0 +1,125 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.inventorymanagementbackend.entity.Customer;
+import org.example.inventorymanagementbackend.entity.DailyCustomerSales;
+import org.example.inventorymanagementbackend.entity.DailyProductSales;
+import org.example.inventorymanagementbackend.entity.Product;
+import org.example.inventorymanagementbackend.entity.Sale;
+import org.example.inventorymanagementbackend.entity.SaleItem;
+import org.example.inventorymanagementbackend.repository.CustomerRepository;
+import org.example.inventorymanagementbackend.repository.DailyCustomerSalesRepository;
+import org.example.inventorymanagementbackend.repository.DailyProductSalesRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Mock
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Mock
+    private DailyCustomerSalesRepository dailyCustomerSalesRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private SalesRollupService service;
+
+    @Test
+    void addedSaleIsAppliedAsRelativeUpdate() {
+        // Two batch lines of one product count as one sale of that product
+        Sale sale = sale(item(1L, 2, "10.00", "4.00"), item(1L, 3, "10.00", "5.00"));
+        when(dailyProductSalesRepository.addTotals(any(), anyLong(), anyLong(), anyLong(), any(), any(), any())).thenReturn(1);
+        when(dailyCustomerSalesRepository.addTotals(any(), anyLong(), anyLong(), anyLong(), any(), any(), any())).thenReturn(1);
+
+        service.add(List.of(sale));
+
+        verify(dailyProductSalesRepository).addTotals(eq(DAY), eq(1L), eq(1L), eq(5L),
+                eq(new BigDecimal("50.00")), eq(BigDecimal.ZERO), eq(new BigDecimal("23.00")));
+        verify(dailyCustomerSalesRepository).addTotals(eq(DAY), eq(7L), eq(1L), eq(5L),
+                eq(new BigDecimal("50.00")), eq(BigDecimal.ZERO), eq(new BigDecimal("23.00")));
+        verify(dailyProductSalesRepository, never()).save(any());
+        verify(dailyCustomerSalesRepository, never()).save(any());
+        verify(dailyProductSalesRepository, never()).deleteEmpty(any(), anyCollection());
+    }
+
+    @Test
+    void firstSaleOfTheDayInsertsRows() {
+        Sale sale = sale(item(1L, 2, "10.00", "4.00"));
+        when(dailyProductSalesRepository.addTotals(any(), anyLong(), anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(dailyCustomerSalesRepository.addTotals(any(), anyLong(), anyLong(), anyLong(), any(), any(), any())).thenReturn(0);
+
+        service.add(List.of(sale));
+
+        ArgumentCaptor<DailyProductSales> product = ArgumentCaptor.forClass(DailyProductSales.class);
+        verify(dailyProductSalesRepository).save(product.capture());
+        assertEquals(1L, product.getValue().getSaleCount());
+        assertEquals(2L, product.getValue().getQuantity());
+        assertEquals(0, new BigDecimal("20.00").compareTo(product.getValue().getRevenue()));
+
+        // The customer row is created under the customer lock
+        verify(customerRepository).findAllByIdForUpdate(List.of(7L));
+        ArgumentCaptor<DailyCustomerSales> customer = ArgumentCaptor.forClass(DailyCustomerSales.class);
+        verify(dailyCustomerSalesRepository).save(customer.capture());
+        assertEquals(1L, customer.getValue().getSaleCount());
+        assertEquals(0, new BigDecimal("8.00").compareTo(customer.getValue().getFifoCost()));
+    }
+
+    @Test
+    void removedSaleIsNegatedAndEmptiedRowsDeleted() {
+        Sale sale = sale(item(1L, 2, "10.00", "4.00"));
+        when(dailyProductSalesRepository.addTotals(any(), anyLong(), anyLong(), anyLong(), any(), any(), any())).thenReturn(1);
+        when(dailyCustomerSalesRepository.addTotals(any(), anyLong(), anyLong(), anyLong(), any(), any(), any())).thenReturn(1);
+
+        service.remove(List.of(sale));
+
+        verify(dailyProductSalesRepository).addTotals(eq(DAY), eq(1L), eq(-1L), eq(-2L),
+                eq(new BigDecimal("-20.00")), eq(BigDecimal.ZERO), eq(new BigDecimal("-8.00")));
+        verify(dailyProductSalesRepository).deleteEmpty(DAY, List.of(1L));
+        verify(dailyCustomerSalesRepository).deleteEmpty(DAY, List.of(7L));
+        verify(dailyProductSalesRepository, never()).save(any());
+        verify(customerRepository, never()).findAllByIdForUpdate(anyCollection());
+    }
+
+    private static Sale sale(SaleItem... items) {
+        Customer customer = new Customer();
+        customer.setId(7L);
+        Sale sale = new Sale();
+        sale.setCustomer(customer);
+        sale.setSaleDate(DAY.atTime(10, 30));
+        List<SaleItem> saleItems = new ArrayList<>(List.of(items));
+        saleItems.forEach(item -> item.setSale(sale));
+        sale.setSaleItems(saleItems);
+        return sale;
+    }
+
+    private static SaleItem item(Long productId, int quantity, String unitPrice, String unitCost) {
+        Product product = new Product();
+        product.setId(productId);
+        return new SaleItem(null, product, quantity, new BigDecimal(unitPrice),
+                null, new BigDecimal(unitCost), LocalDateTime.now());
+    }
+}
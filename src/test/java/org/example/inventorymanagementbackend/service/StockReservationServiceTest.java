@@ -0,0 +1,138 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.example.inventorymanagementbackend.dto.request.StockReservationRequest;
+import org.example.inventorymanagementbackend.entity.ProductStock;
+import org.example.inventorymanagementbackend.entity.StockReservation;
+import org.example.inventorymanagementbackend.repository.ProductStockRepository;
+import org.example.inventorymanagementbackend.repository.StockReservationRepository;
+import org.example.inventorymanagementbackend.service.FifoAllocationService.StockSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private TransactionRetryExecutor transactionRetryExecutor;
+
+    @InjectMocks
+    private StockReservationService service;
+
+    @Test
+    void expiredHoldIsNotConverted() {
+        givenHolds(hold("r-1", 1L, 3, LocalDateTime.now().minusSeconds(5)));
+        StockSnapshot snapshot = new StockSnapshot(Map.of(), Map.of());
+        snapshot.setReservedQuantity(1L, 3);
+
+        service.convert("r-1", snapshot);
+
+        // Still reserved for the sweep to release; the sale competes for unreserved stock
+        assertEquals(3, snapshot.getReservedQuantity(1L));
+        verify(stockReservationRepository, never()).deleteAll(any());
+        verify(productStockRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void activeHoldIsConverted() {
+        StockReservation hold = hold("r-1", 1L, 3, LocalDateTime.now().plusMinutes(5));
+        givenHolds(hold);
+        ProductStock stock = new ProductStock(1L);
+        stock.setOnHand(10);
+        stock.setReserved(3);
+        when(productStockRepository.findAllById(anyCollection())).thenReturn(List.of(stock));
+        StockSnapshot snapshot = new StockSnapshot(Map.of(), Map.of());
+        snapshot.setReservedQuantity(1L, 3);
+
+        service.convert("r-1", snapshot);
+
+        assertEquals(0, snapshot.getReservedQuantity(1L));
+        assertEquals(0, stock.getReserved());
+        verify(stockReservationRepository).deleteAll(List.of(hold));
+    }
+
+    @Test
+    void expiredReservationIsNotFound() {
+        givenHolds(hold("r-1", 1L, 3, LocalDateTime.now().minusSeconds(5)));
+
+        assertThrows(StockReservationService.ReservationNotFoundException.class,
+                () -> service.getReservation("r-1"));
+    }
+
+    @Test
+    void bulkImportOnlySeesActiveHolds() {
+        StockReservation active = hold("r-1", 1L, 3, LocalDateTime.now().plusMinutes(5));
+        givenHolds(active, hold("r-1", 2L, 1, LocalDateTime.now().minusSeconds(5)));
+
+        Map<String, List<StockReservation>> holds = service.getActiveHolds(List.of("r-1", "r-2"));
+
+        assertEquals(Map.of("r-1", List.of(active)), holds);
+    }
+
+    @Test
+    void ttlLimitFollowsTheConfiguredMaximum() {
+        ReflectionTestUtils.setField(service, "maxTtlSeconds", 3600);
+
+        service.reserve(request(2400));
+        assertThrows(IllegalArgumentException.class, () -> service.reserve(request(3601)));
+
+        verify(transactionRetryExecutor).execute(anyString(), any(), any());
+    }
+
+    private static StockReservationRequest request(int ttlSeconds) {
+        StockReservationRequest.Item item = new StockReservationRequest.Item();
+        item.setProductId(1L);
+        item.setQuantity(1);
+        StockReservationRequest request = new StockReservationRequest();
+        request.setItems(List.of(item));
+        request.setTtlSeconds(ttlSeconds);
+        return request;
+    }
+
+    /**
+     * Answer the expiry query the way the database would
+     */
+    private void givenHolds(StockReservation... holds) {
+        when(stockReservationRepository.findByReservationIdAndExpiresAtAfter(anyString(), any()))
+                .thenAnswer(invocation -> {
+                    String reservationId = invocation.getArgument(0);
+                    LocalDateTime now = invocation.getArgument(1);
+                    return List.of(holds).stream()
+                            .filter(hold -> hold.getReservationId().equals(reservationId))
+                            .filter(hold -> hold.getExpiresAt().isAfter(now))
+                            .toList();
+                });
+    }
+
+    private StockReservation hold(String reservationId, Long productId, int quantity, LocalDateTime expiresAt) {
+        StockReservation hold = new StockReservation();
+        hold.setReservationId(reservationId);
+        hold.setProductId(productId);
+        hold.setQuantity(quantity);
+        hold.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        hold.setExpiresAt(expiresAt);
+        return hold;
+    }
+}
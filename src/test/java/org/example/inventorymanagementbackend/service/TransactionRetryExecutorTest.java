@@ -0,0 +1,191 @@
+package org.example.inventorymanagementbackend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.example.inventorymanagementbackend.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+
+class TransactionRetryExecutorTest {
+
+    private final TransactionRetryExecutor executor = new TransactionRetryExecutor();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(executor, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(executor, "maxAttempts", 2);
+        ReflectionTestUtils.setField(executor, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(executor, "maxBackoffMs", 1000L);
+        ReflectionTestUtils.setField(executor, "writePermitCount", 1);
+        ReflectionTestUtils.setField(executor, "writePermitTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(executor, "connectionPoolSize", 3);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void writerBackingOffDoesNotHoldItsPermit() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch firstAttemptFailed = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> retried = CompletableFuture.supplyAsync(() ->
+                executor.execute("retried", Isolation.DEFAULT, () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        firstAttemptFailed.countDown();
+                        throw new OptimisticLockException("conflict");
+                    }
+                    order.add("retried");
+                    return "retried";
+                }));
+        assertTrue(firstAttemptFailed.await(5, TimeUnit.SECONDS));
+
+        // The backoff is at least 500 ms, so this only finishes in time if the permit was released
+        String other = CompletableFuture.supplyAsync(() ->
+                executor.execute("other", Isolation.DEFAULT, () -> {
+                    order.add("other");
+                    return "other";
+                })).get(400, TimeUnit.MILLISECONDS);
+
+        assertEquals("other", other);
+        assertEquals("retried", retried.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("other", "retried"), order);
+    }
+
+    @Test
+    void uncappedWorkRunsWhileEveryPermitIsTaken() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                executor.execute("writer", Isolation.DEFAULT, () -> {
+                    holding.countDown();
+                    await(release);
+                    return null;
+                }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        Integer rebuilt = CompletableFuture.supplyAsync(() ->
+                executor.executeUncapped("rebuild", Isolation.DEFAULT, () -> 1)).get(1, TimeUnit.SECONDS);
+
+        assertEquals(1, rebuilt);
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void writerGivesUpWhenNoPermitFreesInTime() throws Exception {
+        ReflectionTestUtils.setField(executor, "writePermitTimeoutMs", 50L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                executor.execute("writer", Isolation.DEFAULT, () -> {
+                    holding.countDown();
+                    await(release);
+                    return null;
+                }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ServiceBusyException.class, () ->
+                executor.execute("waiting", Isolation.DEFAULT, attempts::incrementAndGet));
+
+        assertEquals(0, attempts.get());
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lockConflictsAreRetryableAtAnyDepth() {
+        assertTrue(TransactionRetryExecutor.isRetryable(new OptimisticLockException("stale")));
+        assertTrue(TransactionRetryExecutor.isRetryable(new CannotAcquireLockException("deadlock")));
+        assertTrue(TransactionRetryExecutor.isRetryable(
+                new ObjectOptimisticLockingFailureException("stale", new RuntimeException())));
+        assertTrue(TransactionRetryExecutor.isRetryable(
+                new IllegalStateException("wrapped", new RuntimeException(new PessimisticLockException("locked")))));
+
+        assertFalse(TransactionRetryExecutor.isRetryable(new IllegalStateException("bug")));
+        assertFalse(TransactionRetryExecutor.isRetryable(new IllegalArgumentException("Insufficient stock")));
+    }
+
+    @Test
+    void lockConflictIsRetriedUntilAttemptsRunOut() {
+        ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(executor, "initialBackoffMs", 2L);
+        ReflectionTestUtils.setField(executor, "maxBackoffMs", 4L);
+        AtomicInteger attempts = new AtomicInteger();
+        OptimisticLockException conflict = new OptimisticLockException("conflict");
+
+        OptimisticLockException thrown = assertThrows(OptimisticLockException.class, () ->
+                executor.execute("conflicting", Isolation.DEFAULT, () -> {
+                    attempts.incrementAndGet();
+                    throw conflict;
+                }));
+
+        assertSame(conflict, thrown);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void lockConflictThatClearsIsRetriedToSuccess() {
+        ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(executor, "initialBackoffMs", 2L);
+        ReflectionTestUtils.setField(executor, "maxBackoffMs", 4L);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute("flaky", Isolation.DEFAULT, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("deadlock");
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                executor.execute("invalid", Isolation.DEFAULT, () -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalArgumentException("Insufficient stock");
+                }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}